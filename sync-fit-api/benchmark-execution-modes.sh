@@ -0,0 +1,78 @@
+#!/bin/bash
+
+# SyncFit execution mode benchmark
+# Runs the same load against the platform-thread and virtual-thread modes and compares
+# throughput and tail latency. Cheap GET /workouts/{id} calls are mixed with slow /stats
+# calls to show whether the slow ones hold up the cheap ones.
+# The virtual-thread mode needs a Java 21+ runtime.
+# Stats admission control is switched off for the run by default: with ROWS=200000 every range
+# past last4w costs more than app.stats.admission.inline-max-cost, so the stats calls would go to
+# the small stats pool and mostly be shed with 429, measuring load shedding instead of the
+# execution mode. Set ADMISSION=on to run with the application's admission settings.
+
+set -e
+cd "$(dirname "$0")"
+
+ROWS=${ROWS:-200000}
+DURATION=${DURATION:-60s}
+WARMUP=${WARMUP:-15s}
+CONCURRENCY=${CONCURRENCY:-400}
+MIX=${MIX:-get=80,stats=20}
+ADMISSION=${ADMISSION:-off}
+REPORTS=load-reports
+
+JAVA_MAJOR=$(java -version 2>&1 | awk -F'"' '/version/ {split($2, v, "."); print v[1]}')
+if [ "$JAVA_MAJOR" -lt 21 ]; then
+    echo "⚠️  Virtual-thread mode needs Java 21+, found Java $JAVA_MAJOR"
+    exit 1
+fi
+
+if lsof -i :8080 >/dev/null 2>&1; then
+    echo "⚠️  Port 8080 is in use, stop the running backend first"
+    exit 1
+fi
+
+echo "🔨 Building..."
+# -DskipTests still compiles the test sources, which hold the load driver
+mvn -q -DskipTests package
+JAR=$(ls target/syncfit-backend-*.jar | grep -v original | head -1)
+mkdir -p "$REPORTS"
+
+ADMISSION_ARGS=()
+if [ "$ADMISSION" = "off" ]; then
+    # Answer every range inline, on the request's own thread
+    ADMISSION_ARGS=(--app.stats.admission.inline-max-cost=9223372036854775807)
+fi
+
+for MODE in platform virtual; do
+    echo "🚀 Starting API in $MODE mode with $ROWS seeded workouts (admission control $ADMISSION)..."
+    java -jar "$JAR" \
+        --app.execution.mode=$MODE \
+        --app.seed.rows=$ROWS \
+        "${ADMISSION_ARGS[@]}" \
+        --spring.jpa.show-sql=false > "$REPORTS/$MODE.log" 2>&1 &
+    API_PID=$!
+    trap 'kill $API_PID 2>/dev/null' EXIT
+
+    echo "⏳ Waiting for seeding to finish..."
+    until grep -q "Seeded" "$REPORTS/$MODE.log"; do
+        if ! kill -0 $API_PID 2>/dev/null; then
+            echo "❌ API exited, see $REPORTS/$MODE.log"
+            exit 1
+        fi
+        sleep 1
+    done
+
+    echo "📈 Driving load ($MIX, concurrency $CONCURRENCY, $DURATION)..."
+    java -cp target/test-classes com.syncfit.loadtest.LoadTestDriver run \
+        --duration "$DURATION" --warmup "$WARMUP" --concurrency "$CONCURRENCY" \
+        --mix "$MIX" --max-id "$ROWS" \
+        --label "$MODE" --out "$REPORTS/$MODE.csv" || true
+
+    kill $API_PID
+    wait $API_PID 2>/dev/null || true
+done
+
+echo ""
+echo "📊 platform vs virtual"
+java -cp target/test-classes com.syncfit.loadtest.LoadTestDriver compare "$REPORTS/platform.csv" "$REPORTS/virtual.csv"
@@ -2,12 +2,21 @@ package com.syncfit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SyncFitApplication {
 
+    // Enough for every startup step of this application, including one per bean
+    private static final int STARTUP_STEP_CAPACITY = 8192;
+
     public static void main(String[] args) {
-        SpringApplication.run(SyncFitApplication.class, args);
+        SpringApplication application = new SpringApplication(SyncFitApplication.class);
+        // Record startup steps so StartupTimelineReporter can show where boot time goes
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
-}
\ No newline at end of file
+}
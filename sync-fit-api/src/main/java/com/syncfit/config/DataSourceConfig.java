@@ -0,0 +1,82 @@
+package com.syncfit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Primary and replica connection pools behind a single routing datasource.
+ * Writes use the primary; read-only transactions use the replica.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${app.execution.mode:platform}")
+    private String executionMode;
+
+    @Value("${app.execution.connection-permit-timeout:30s}")
+    private Duration connectionPermitTimeout;
+
+    @Bean
+    @ConfigurationProperties("app.datasource.primary")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.primary.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        DataSource primary = limitForExecutionMode(primaryDataSource);
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceRoute.PRIMARY, primary,
+                DataSourceRoute.REPLICA, limitForExecutionMode(replicaDataSource)));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+
+        // Defer the physical connection until the first statement, when the read-only flag is known
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * On virtual threads, gate each pool with a semaphore sized to the pool itself
+     */
+    private DataSource limitForExecutionMode(HikariDataSource pool) {
+        if (!"virtual".equals(executionMode)) {
+            return pool;
+        }
+        return new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(), connectionPermitTimeout);
+    }
+}
@@ -0,0 +1,9 @@
+package com.syncfit.config;
+
+/**
+ * Targets of the read/write routing datasource
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,42 @@
+package com.syncfit.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that forces reads to the primary, e.g. right after a client has written
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {}
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Wrap a task so it keeps the calling thread's pin when it runs on another thread
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        boolean pinnedToPrimary = isPinnedToPrimary();
+        return () -> {
+            if (pinnedToPrimary) {
+                pinToPrimary();
+            }
+            try {
+                return task.get();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
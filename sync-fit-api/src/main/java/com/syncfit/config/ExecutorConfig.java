@@ -0,0 +1,55 @@
+package com.syncfit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for work fanned out from request threads
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs dashboard sections concurrently: virtual threads when the runtime supports them,
+     * otherwise a fixed platform-thread pool. Both are bounded and reject work beyond their limit,
+     * and cancelling a submitted section interrupts the thread running it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor(@Value("${app.dashboard.max-concurrency:32}") int maxConcurrency) {
+        if (VirtualThreads.isSupported()) {
+            return new BoundedExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor(), maxConcurrency);
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxConcurrency, maxConcurrency,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxConcurrency * 4),
+                new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Small isolated pool for expensive stats ranges, so they can't take over request threads.
+     * A full queue rejects new work, which is then shed by the caller.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor statsExecutor(
+            @Value("${app.stats.admission.max-concurrency:2}") int maxConcurrency,
+            @Value("${app.stats.admission.queue-capacity:8}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                maxConcurrency, maxConcurrency,
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("stats-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,22 @@
+package com.syncfit.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the lookup happens after the
+ * transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (DataSourceRoutingContext.isPinnedToPrimary()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+    }
+}
@@ -0,0 +1,72 @@
+package com.syncfit.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pins a client's reads to the primary for a short window after it writes,
+ * so it never reads its own changes back from a lagging replica.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(@Value("${app.datasource.read-your-writes-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientId = clientId(request);
+
+        if (wroteRecently(clientId)) {
+            DataSourceRoutingContext.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRoutingContext.clear();
+        }
+
+        if (WRITE_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+            recordWrite(clientId);
+        }
+    }
+
+    private boolean wroteRecently(String clientId) {
+        Long lastWrite = lastWriteByClient.get(clientId);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    private void recordWrite(String clientId) {
+        long now = System.nanoTime();
+        if (lastWriteByClient.size() >= CLEANUP_THRESHOLD) {
+            lastWriteByClient.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+        }
+        lastWriteByClient.put(clientId, now);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,130 @@
+package com.syncfit.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reports how long the application took to become ready, broken down by startup phase and by bean.
+ * Always logs the time to ready; the full timeline is logged when app.startup.report is enabled.
+ */
+@Component
+public class StartupTimelineReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final int TOP_BEANS = 20;
+
+    private final ApplicationStartup applicationStartup;
+
+    @Value("${app.startup.report:false}")
+    private boolean reportEnabled;
+
+    @Value("${app.startup.report-file:}")
+    private String reportFile;
+
+    // Used for class-data sharing training runs: stop as soon as startup has been recorded
+    @Value("${app.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    public StartupTimelineReporter(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long jvmToReadyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        long contextToReadyMs = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1;
+        log.info("Ready to take traffic {} ms after JVM start ({} ms in SpringApplication.run)",
+                jvmToReadyMs, contextToReadyMs);
+
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            // Drain so the recorded steps don't stay on the heap for the life of the process
+            StartupTimeline timeline = buffering.drainBufferedTimeline();
+            if (reportEnabled) {
+                report(timeline, jvmToReadyMs);
+            }
+        }
+
+        if (exitOnReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private void report(StartupTimeline timeline, long jvmToReadyMs) {
+        Map<String, long[]> phases = new LinkedHashMap<>(); // name -> {count, total nanos}
+        List<BeanTiming> beans = new ArrayList<>();
+
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            long nanos = event.getDuration().toNanos();
+
+            long[] phase = phases.computeIfAbsent(step.getName(), name -> new long[2]);
+            phase[0]++;
+            phase[1] += nanos;
+
+            if (BEAN_STEP.equals(step.getName())) {
+                for (StartupStep.Tag tag : step.getTags()) {
+                    if ("beanName".equals(tag.getKey())) {
+                        beans.add(new BeanTiming(tag.getValue(), nanos));
+                    }
+                }
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Startup timeline: JVM start to ready %d ms, Spring steps recorded from %s",
+                jvmToReadyMs, timeline.getStartTime()));
+        lines.add("Phases (step, count, total ms; nested steps are included in their parents):");
+        phases.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                .forEach(e -> lines.add(String.format(Locale.ROOT, "  %-55s %6d %10.1f",
+                        e.getKey(), e.getValue()[0], millis(e.getValue()[1]))));
+
+        lines.add("Slowest beans (including their dependencies), ms:");
+        beans.sort(Comparator.comparingLong(BeanTiming::nanos).reversed());
+        beans.stream().limit(TOP_BEANS).forEach(bean ->
+                lines.add(String.format(Locale.ROOT, "  %-55s %10.1f", bean.name(), millis(bean.nanos()))));
+
+        lines.forEach(log::info);
+
+        if (!reportFile.isBlank()) {
+            try {
+                Path path = Paths.get(reportFile);
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                Files.write(path, lines);
+            } catch (IOException e) {
+                log.warn("Could not write startup report to {}", reportFile, e);
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record BeanTiming(String name, long nanos) {}
+}
@@ -0,0 +1,21 @@
+package com.syncfit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in execution mode (app.execution.mode=virtual) that handles each request, and therefore each
+ * WorkoutService call, on its own virtual thread instead of Tomcat's platform-thread pool.
+ * Requires a Java 21+ runtime; startup fails on older runtimes rather than silently falling back.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.execution.mode", havingValue = "virtual")
+public class VirtualThreadExecutionConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,25 @@
+package com.syncfit.controller;
+
+import com.syncfit.dto.DashboardResponse;
+import com.syncfit.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * GET /dashboard - Recent workouts, weekly stats and personal records in one response
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard() {
+        DashboardResponse dashboard = dashboardService.getDashboard();
+        return ResponseEntity.ok(dashboard);
+    }
+}
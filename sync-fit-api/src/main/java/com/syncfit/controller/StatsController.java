@@ -1,12 +1,13 @@
 package com.syncfit.controller;
 
 import com.syncfit.dto.WeeklyStats;
-import com.syncfit.service.WorkoutService;
+import com.syncfit.service.StatsAdmissionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/stats")
@@ -14,17 +15,17 @@ import java.util.List;
 public class StatsController {
 
     @Autowired
-    private WorkoutService workoutService;
+    private StatsAdmissionService statsAdmissionService;
 
     /**
      * GET /stats - Get weekly statistics
+     * Expensive ranges may be rejected with 429/503 and a Retry-After header when the server is busy
      * @param range Range parameter like "last4w" for last 4 weeks (default: last4w)
      */
     @GetMapping
-    public ResponseEntity<List<WeeklyStats>> getWeeklyStats(
+    public CompletableFuture<ResponseEntity<List<WeeklyStats>>> getWeeklyStats(
             @RequestParam(required = false, defaultValue = "last4w") String range) {
         
-        List<WeeklyStats> stats = workoutService.getWeeklyStats(range);
-        return ResponseEntity.ok(stats);
+        return statsAdmissionService.getWeeklyStats(range).thenApply(ResponseEntity::ok);
     }
 }
\ No newline at end of file
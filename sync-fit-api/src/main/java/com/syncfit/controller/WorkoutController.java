@@ -2,6 +2,7 @@ package com.syncfit.controller;
 
 import com.syncfit.dto.WorkoutCreateRequest;
 import com.syncfit.entity.Workout;
+import com.syncfit.service.IdempotencyService;
 import com.syncfit.service.WorkoutService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ public class WorkoutController {
     @Autowired
     private WorkoutService workoutService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
      * GET /workouts - Get all workouts or filter by week
      * @param week Optional parameter in format YYYY-WW (e.g., 2024-W15)
@@ -57,9 +61,20 @@ public class WorkoutController {
 
     /**
      * POST /workouts - Create a new workout
+     * @param idempotencyKey Optional client-generated key; retries with the same key replay the original response
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createWorkout(@Valid @RequestBody WorkoutCreateRequest request) {
+    public ResponseEntity<Map<String, Object>> createWorkout(
+            @Valid @RequestBody WorkoutCreateRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            return doCreateWorkout(request);
+        }
+        return idempotencyService.execute(idempotencyKey, request, () -> doCreateWorkout(request));
+    }
+
+    private ResponseEntity<Map<String, Object>> doCreateWorkout(WorkoutCreateRequest request) {
         Workout createdWorkout = workoutService.createWorkout(request);
         
         Map<String, Object> response = new HashMap<>();
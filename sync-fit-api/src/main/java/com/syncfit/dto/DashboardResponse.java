@@ -0,0 +1,84 @@
+package com.syncfit.dto;
+
+import com.syncfit.entity.Workout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DashboardResponse {
+
+    private String status;
+    private LocalDateTime timestamp;
+    private List<Workout> recentWorkouts;
+    private List<WeeklyStats> weeklyStats;
+    private List<PersonalRecord> records;
+    private List<String> unavailableSections = new ArrayList<>(); // Sections that failed or timed out
+
+    // Constructors
+    public DashboardResponse() {}
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public List<Workout> getRecentWorkouts() {
+        return recentWorkouts;
+    }
+
+    public void setRecentWorkouts(List<Workout> recentWorkouts) {
+        this.recentWorkouts = recentWorkouts;
+    }
+
+    public List<WeeklyStats> getWeeklyStats() {
+        return weeklyStats;
+    }
+
+    public void setWeeklyStats(List<WeeklyStats> weeklyStats) {
+        this.weeklyStats = weeklyStats;
+    }
+
+    public List<PersonalRecord> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<PersonalRecord> records) {
+        this.records = records;
+    }
+
+    public List<String> getUnavailableSections() {
+        return unavailableSections;
+    }
+
+    public void setUnavailableSections(List<String> unavailableSections) {
+        this.unavailableSections = unavailableSections;
+    }
+
+    public boolean isPartial() {
+        return !unavailableSections.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardResponse{" +
+                "status='" + status + '\'' +
+                ", recentWorkouts=" + (recentWorkouts != null ? recentWorkouts.size() : null) +
+                ", weeklyStats=" + (weeklyStats != null ? weeklyStats.size() : null) +
+                ", records=" + (records != null ? records.size() : null) +
+                ", unavailableSections=" + unavailableSections +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.syncfit.dto;
+
+import java.math.BigDecimal;
+
+public class PersonalRecord {
+
+    private String exercise;
+    private BigDecimal maxWeight;
+
+    // Constructors
+    public PersonalRecord() {}
+
+    public PersonalRecord(String exercise, BigDecimal maxWeight) {
+        this.exercise = exercise;
+        this.maxWeight = maxWeight;
+    }
+
+    // Getters and Setters
+    public String getExercise() {
+        return exercise;
+    }
+
+    public void setExercise(String exercise) {
+        this.exercise = exercise;
+    }
+
+    public BigDecimal getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(BigDecimal maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "PersonalRecord{" +
+                "exercise='" + exercise + '\'' +
+                ", maxWeight=" + maxWeight +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.syncfit.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Heaviest weight per exercise in the workouts table, kept up to date on every write
+ * so personal records never need a scan of the workouts table
+ */
+@Entity
+@Table(name = "exercise_records")
+public class ExerciseRecord {
+
+    @Id
+    @Column(name = "exercise", length = 100)
+    private String exercise;
+
+    // Null once the exercise has no workouts left; such rows are dropped on the next rebuild
+    @Column(name = "max_weight", precision = 6, scale = 2)
+    private BigDecimal maxWeight;
+
+    // Constructors
+    public ExerciseRecord() {}
+
+    public ExerciseRecord(String exercise, BigDecimal maxWeight) {
+        this.exercise = exercise;
+        this.maxWeight = maxWeight;
+    }
+
+    // Getters and Setters
+    public String getExercise() {
+        return exercise;
+    }
+
+    public void setExercise(String exercise) {
+        this.exercise = exercise;
+    }
+
+    public BigDecimal getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(BigDecimal maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "ExerciseRecord{" +
+                "exercise='" + exercise + '\'' +
+                ", maxWeight=" + maxWeight +
+                '}';
+    }
+}
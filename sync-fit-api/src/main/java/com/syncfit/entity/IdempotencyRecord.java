@@ -0,0 +1,130 @@
+package com.syncfit.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    @Lob
+    @Column(name = "response_body", nullable = false)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Keys are assigned by clients, so tell Spring Data to insert rather than merge new records
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String key, String requestHash, int statusCode, String responseBody,
+                             Instant createdAt, Instant expiresAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "key='" + key + '\'' +
+                ", statusCode=" + statusCode +
+                ", createdAt=" + createdAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
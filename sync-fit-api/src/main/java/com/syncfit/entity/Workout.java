@@ -7,7 +7,12 @@ import java.time.LocalDate;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "workouts")
+@Table(name = "workouts", indexes = {
+        // Serves every date-range query and their date/createdAt ordering
+        @Index(name = "idx_workouts_date", columnList = "workout_date, created_at"),
+        // Recomputes an exercise's personal record without scanning its other exercises
+        @Index(name = "idx_workouts_exercise_weight", columnList = "exercise, weight")
+})
 public class Workout {
 
     @Id
@@ -0,0 +1,8 @@
+package com.syncfit.exception;
+
+public class ArchivedWorkoutException extends RuntimeException {
+
+    public ArchivedWorkoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.syncfit.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IdempotencyKeyInProgressException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.syncfit.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
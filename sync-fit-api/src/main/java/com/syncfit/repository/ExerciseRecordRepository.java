@@ -0,0 +1,48 @@
+package com.syncfit.repository;
+
+import com.syncfit.dto.PersonalRecord;
+import com.syncfit.entity.ExerciseRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ExerciseRecordRepository extends JpaRepository<ExerciseRecord, String> {
+
+    // Heaviest weight lifted per exercise
+    @Query("SELECT new com.syncfit.dto.PersonalRecord(r.exercise, r.maxWeight) FROM ExerciseRecord r WHERE r.maxWeight IS NOT NULL ORDER BY r.exercise")
+    List<PersonalRecord> findPersonalRecords();
+
+    // Raise an exercise's record to the given weight if it is heavier (creating the record if needed)
+    @Modifying
+    @Query(value = "MERGE INTO exercise_records r "
+            + "USING (SELECT CAST(:exercise AS VARCHAR(100)) AS exercise, CAST(:weight AS NUMERIC(6, 2)) AS max_weight) s "
+            + "ON r.exercise = s.exercise "
+            + "WHEN MATCHED AND (r.max_weight IS NULL OR s.max_weight > r.max_weight) THEN UPDATE SET max_weight = s.max_weight "
+            + "WHEN NOT MATCHED THEN INSERT (exercise, max_weight) VALUES (s.exercise, s.max_weight)",
+            nativeQuery = true)
+    void raise(@Param("exercise") String exercise, @Param("weight") BigDecimal weight);
+
+    // Recompute an exercise's record after a workout was removed or lowered (served by idx_workouts_exercise_weight)
+    @Modifying
+    @Query(value = "UPDATE exercise_records SET max_weight = "
+            + "(SELECT MAX(w.weight) FROM workouts w WHERE w.exercise = :exercise) WHERE exercise = :exercise",
+            nativeQuery = true)
+    void recompute(@Param("exercise") String exercise);
+
+    // Raise every exercise's record to the heaviest weight in the workouts table (full scan; startup and seeding only).
+    // Only ever raises, so it is safe next to concurrent raise() calls and rebuilds on other instances
+    @Modifying
+    @Query(value = "MERGE INTO exercise_records r "
+            + "USING (SELECT exercise, MAX(weight) AS max_weight FROM workouts GROUP BY exercise) s "
+            + "ON r.exercise = s.exercise "
+            + "WHEN MATCHED AND (r.max_weight IS NULL OR s.max_weight > r.max_weight) THEN UPDATE SET max_weight = s.max_weight "
+            + "WHEN NOT MATCHED THEN INSERT (exercise, max_weight) VALUES (s.exercise, s.max_weight)",
+            nativeQuery = true)
+    int mergeFromWorkouts();
+}
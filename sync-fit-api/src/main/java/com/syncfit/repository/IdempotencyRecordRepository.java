@@ -0,0 +1,25 @@
+package com.syncfit.repository;
+
+import com.syncfit.entity.IdempotencyRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Remove records past their time-to-live
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    // Find the oldest keys (for trimming the store to its size limit)
+    @Query("SELECT r.key FROM IdempotencyRecord r ORDER BY r.createdAt ASC")
+    List<String> findOldestKeys(Pageable pageable);
+}
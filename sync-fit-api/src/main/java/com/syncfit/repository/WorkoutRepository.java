@@ -1,12 +1,16 @@
 package com.syncfit.repository;
 
 import com.syncfit.entity.Workout;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -34,4 +38,17 @@ public interface WorkoutRepository extends JpaRepository<Workout, Long> {
     // Find workouts by exercise name (case insensitive)
     @Query("SELECT w FROM Workout w WHERE LOWER(w.exercise) LIKE LOWER(CONCAT('%', :exerciseName, '%')) ORDER BY w.date DESC")
     List<Workout> findByExerciseContainingIgnoreCase(@Param("exerciseName") String exerciseName);
-}
\ No newline at end of file
+
+    // Find the oldest workouts dated before a cutoff (for archival to cold storage)
+    @Query("SELECT w FROM Workout w WHERE w.date < :cutoff ORDER BY w.date ASC, w.id ASC")
+    List<Workout> findOldestBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    // Lock workouts by id until the transaction ends (so archival can delete exactly what it archived)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Workout w WHERE w.id IN :ids")
+    List<Workout> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Count how many of the given ids still exist
+    @Query("SELECT COUNT(w) FROM Workout w WHERE w.id IN :ids")
+    long countByIdIn(@Param("ids") Collection<Long> ids);
+}
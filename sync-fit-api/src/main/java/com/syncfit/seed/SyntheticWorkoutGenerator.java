@@ -0,0 +1,173 @@
+package com.syncfit.seed;
+
+import com.syncfit.service.PersonalRecordRebuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the workouts table with synthetic training histories for load testing.
+ * Enabled by setting app.seed.rows; the same app.seed.random-seed always produces the same data.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seed.rows")
+public class SyntheticWorkoutGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticWorkoutGenerator.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO workouts (workout_date, exercise, sets, reps, weight, rpe, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Exercise name and a typical starting working weight in kg
+    private static final String[] EXERCISES = {
+            "Bench Press", "Squat", "Deadlift", "Overhead Press", "Barbell Row", "Pull-ups",
+            "Incline Dumbbell Press", "Romanian Deadlift", "Leg Press", "Lat Pulldown",
+            "Dumbbell Curl", "Tricep Pushdown", "Lunges", "Hip Thrust", "Face Pull", "Dips"
+    };
+    private static final double[] START_WEIGHTS = {
+            60, 80, 100, 35, 55, 5, 22, 70, 120, 45, 12, 25, 20, 80, 15, 5
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PersonalRecordRebuilder personalRecordRebuilder;
+
+    @Value("${app.seed.rows}")
+    private long rows;
+
+    @Value("${app.seed.users:100}")
+    private int users;
+
+    @Value("${app.seed.years:3}")
+    private int years;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rows <= 0) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusYears(years);
+        long historyDays = ChronoUnit.DAYS.between(startDate, endDate);
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long inserted = 0;
+
+        for (int user = 0; user < users; user++) {
+            long userRows = rows / users + (user < rows % users ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(randomSeed + user);
+            TrainingProgram program = new TrainingProgram(random);
+
+            // Spread this user's sessions evenly over the history, starting on a random day
+            long sessions = Math.max(1, (userRows + program.exercisesPerSession - 1) / program.exercisesPerSession);
+            double daysPerSession = (double) historyDays / sessions;
+            double day = random.nextDouble(daysPerSession);
+
+            long written = 0;
+            for (long session = 0; session < sessions && written < userRows; session++, day += daysPerSession) {
+                LocalDate date = startDate.plusDays((long) day);
+                double weeksTrained = day / 7.0;
+
+                for (int e = 0; e < program.exercisesPerSession && written < userRows; e++) {
+                    int exercise = program.pickExercise(random);
+                    batch.add(program.workoutRow(random, exercise, date, weeksTrained));
+                    written++;
+
+                    if (batch.size() == batchSize) {
+                        inserted += flush(batch);
+                    }
+                }
+            }
+        }
+        inserted += flush(batch);
+        // Plain SQL inserts skip the write path that keeps personal records up to date
+        personalRecordRebuilder.mergeFromWorkouts();
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Seeded {} synthetic workouts for {} users over {} years in {} ms", inserted, users, years, elapsedMs);
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    /**
+     * A user's training style: which exercises they do, how strong they start and how fast they progress
+     */
+    private static final class TrainingProgram {
+
+        private final int[] exercises;
+        private final double[] startWeights;
+        private final double weeklyProgression;
+        private final int exercisesPerSession;
+
+        TrainingProgram(SplittableRandom random) {
+            int programSize = 4 + random.nextInt(5);
+            this.exercises = new int[programSize];
+            this.startWeights = new double[programSize];
+            for (int i = 0; i < programSize; i++) {
+                exercises[i] = random.nextInt(EXERCISES.length);
+                startWeights[i] = START_WEIGHTS[exercises[i]] * (0.6 + random.nextDouble() * 0.8);
+            }
+            this.weeklyProgression = 0.002 + random.nextDouble() * 0.006;
+            this.exercisesPerSession = 3 + random.nextInt(3);
+        }
+
+        int pickExercise(SplittableRandom random) {
+            return random.nextInt(exercises.length);
+        }
+
+        Object[] workoutRow(SplittableRandom random, int slot, LocalDate date, double weeksTrained) {
+            // Progress with diminishing returns, plus day-to-day noise and a deload every 8th week
+            double progress = 1 + weeklyProgression * weeksTrained / (1 + weeksTrained / 150);
+            boolean deload = ((long) weeksTrained) % 8 == 7;
+            double weight = startWeights[slot] * progress * (deload ? 0.8 : 1) * (0.95 + random.nextDouble() * 0.1);
+            weight = Math.min(1000, Math.max(2.5, Math.round(weight / 2.5) * 2.5));
+
+            int reps = 5 + random.nextInt(8);
+            int sets = 3 + random.nextInt(3);
+            double rpe = Math.min(10, (deload ? 6 : 7) + random.nextInt(7) * 0.5);
+
+            return new Object[]{
+                    Date.valueOf(date),
+                    EXERCISES[exercises[slot]],
+                    sets,
+                    reps,
+                    BigDecimal.valueOf(weight).setScale(2, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(rpe).setScale(1, RoundingMode.HALF_UP),
+                    Date.valueOf(date)
+            };
+        }
+    }
+}
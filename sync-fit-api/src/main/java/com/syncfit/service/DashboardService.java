@@ -0,0 +1,113 @@
+package com.syncfit.service;
+
+import com.syncfit.config.DataSourceRoutingContext;
+import com.syncfit.dto.DashboardResponse;
+import com.syncfit.dto.PersonalRecord;
+import com.syncfit.dto.WeeklyStats;
+import com.syncfit.entity.Workout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the home page dashboard by running its sections concurrently
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private ExecutorService dashboardExecutor;
+
+    private final long sectionTimeoutMs;
+
+    // Read-only transaction per section, whose timeout also bounds each JDBC statement it runs
+    private final TransactionTemplate sectionTransaction;
+
+    @Value("${app.dashboard.recent-days:7}")
+    private int recentDays;
+
+    @Value("${app.dashboard.stats-range:last4w}")
+    private String statsRange;
+
+    public DashboardService(PlatformTransactionManager transactionManager,
+                            @Value("${app.dashboard.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        this.sectionTimeoutMs = sectionTimeoutMs;
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        sectionTransaction.setReadOnly(true);
+        // Transaction timeouts are whole seconds; round up so a section is never cut short by its own query timeout
+        sectionTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs + 999)));
+    }
+
+    /**
+     * Get the dashboard. Sections that fail or miss the section timeout are left empty
+     * and listed in unavailableSections instead of failing the whole response.
+     */
+    public DashboardResponse getDashboard() {
+        DashboardResponse response = new DashboardResponse();
+        response.setStatus("UP");
+        response.setTimestamp(LocalDateTime.now());
+
+        // All sections start together, so one deadline gives each the full section timeout
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+
+        Future<List<Workout>> recentWorkouts = submit(() -> workoutService.getRecentWorkouts(recentDays));
+        Future<List<WeeklyStats>> weeklyStats = submit(() -> workoutService.getWeeklyStats(statsRange));
+        Future<List<PersonalRecord>> records = submit(workoutService::getPersonalRecords);
+
+        response.setRecentWorkouts(await("recentWorkouts", recentWorkouts, deadline, response));
+        response.setWeeklyStats(await("weeklyStats", weeklyStats, deadline, response));
+        response.setRecords(await("records", records, deadline, response));
+
+        return response;
+    }
+
+    private <T> Future<T> submit(Supplier<T> section) {
+        // Carry the read-your-writes pin over to the worker thread
+        Supplier<T> task = DataSourceRoutingContext.propagate(() -> sectionTransaction.execute(status -> section.get()));
+
+        try {
+            return dashboardExecutor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(String section, Future<T> future, long deadline, DashboardResponse response) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Interrupts the worker, so the section gives back its executor slot and connection
+            future.cancel(true);
+            log.warn("Dashboard section {} timed out after {} ms", section, sectionTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section {} failed", section, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        response.getUnavailableSections().add(section);
+        return null;
+    }
+}
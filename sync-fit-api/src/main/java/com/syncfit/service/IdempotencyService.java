@@ -0,0 +1,287 @@
+package com.syncfit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncfit.entity.IdempotencyRecord;
+import com.syncfit.exception.IdempotencyKeyInProgressException;
+import com.syncfit.exception.IdempotencyKeyReuseException;
+import com.syncfit.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for create endpoints.
+ * The first response for a key is stored (in memory and in the idempotency_keys table) and replayed
+ * for retries; concurrent requests with the same key wait for the first one instead of inserting again.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final TypeReference<LinkedHashMap<String, Object>> BODY_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Read-write transactions route to the primary, so lookups never miss a key because of replica lag
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, IdempotencyRecord> cache;
+
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+
+    @Value("${app.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.idempotency.cleanup-enabled:true}")
+    private boolean cleanupEnabled;
+
+    // How long a duplicate waits for the first request with its key before it is told to retry
+    @Value("${app.idempotency.in-flight-timeout:10s}")
+    private Duration inFlightTimeout;
+
+    @Value("${app.idempotency.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    public IdempotencyService(PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Run {@code action} once per key. Retries with the same key and request get the stored response;
+     * reusing a key for a different request is rejected. Failed actions are not stored, so they can be retried.
+     */
+    public ResponseEntity<Map<String, Object>> execute(String key, Object request,
+                                                       Supplier<ResponseEntity<Map<String, Object>>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = fingerprint(request);
+
+        IdempotencyRecord existing = find(key);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+
+        CompletableFuture<IdempotencyRecord> claim = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, claim);
+        if (running != null) {
+            return replay(await(key, running), requestHash);
+        }
+
+        try {
+            // A request with the same key may have finished between the lookup and the claim
+            existing = cached(key);
+            if (existing != null) {
+                claim.complete(existing);
+                return replay(existing, requestHash);
+            }
+
+            IdempotencyRecord[] stored = new IdempotencyRecord[1];
+            ResponseEntity<Map<String, Object>> response;
+            try {
+                response = transactionTemplate.execute(status -> {
+                    ResponseEntity<Map<String, Object>> result = action.get();
+                    // Stored in the same transaction as the action's writes, so they commit or roll back together
+                    stored[0] = store(key, requestHash, result);
+                    return result;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance committed the same key first; our writes were rolled back
+                IdempotencyRecord winner = find(key);
+                if (winner == null) {
+                    throw e;
+                }
+                claim.complete(winner);
+                return replay(winner, requestHash);
+            }
+
+            cache(stored[0]);
+            claim.complete(stored[0]);
+            return response;
+        } catch (RuntimeException e) {
+            claim.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, claim);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:60000}")
+    public void scheduledEviction() {
+        if (cleanupEnabled) {
+            evictExpired();
+        }
+    }
+
+    /**
+     * Remove expired records, then trim the store to its size limit, oldest first
+     */
+    public void evictExpired() {
+        Instant now = Instant.now();
+        synchronized (cache) {
+            cache.values().removeIf(record -> record.isExpired(now));
+        }
+
+        int removed = transactionTemplate.execute(status -> {
+            int deleted = idempotencyRecordRepository.deleteExpired(now);
+            long excess = idempotencyRecordRepository.count() - maxEntries;
+            if (excess > 0) {
+                List<String> oldest = idempotencyRecordRepository.findOldestKeys(
+                        PageRequest.of(0, Math.toIntExact(excess)));
+                idempotencyRecordRepository.deleteAllByIdInBatch(oldest);
+                synchronized (cache) {
+                    oldest.forEach(cache::remove);
+                }
+                deleted += oldest.size();
+            }
+            return deleted;
+        });
+
+        if (removed > 0) {
+            log.info("Evicted {} idempotency key(s)", removed);
+        }
+    }
+
+    private IdempotencyRecord find(String key) {
+        IdempotencyRecord record = cached(key);
+        if (record != null) {
+            return record;
+        }
+
+        record = transactionTemplate.execute(status -> idempotencyRecordRepository.findById(key).orElse(null));
+        if (record == null) {
+            return null;
+        }
+        if (record.isExpired(Instant.now())) {
+            // Expired but not yet evicted; clear it so the key can be stored again
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.deleteAllByIdInBatch(List.of(key)));
+            return null;
+        }
+        cache(record);
+        return record;
+    }
+
+    private IdempotencyRecord cached(String key) {
+        synchronized (cache) {
+            IdempotencyRecord record = cache.get(key);
+            if (record != null && record.isExpired(Instant.now())) {
+                cache.remove(key);
+                return null;
+            }
+            return record;
+        }
+    }
+
+    private IdempotencyRecord store(String key, String requestHash, ResponseEntity<Map<String, Object>> response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response for " + HEADER + " " + key, e);
+        }
+
+        Instant now = Instant.now();
+        return idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(
+                key, requestHash, response.getStatusCode().value(), body, now, now.plus(ttl)));
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (cache) {
+            cache.put(record.getKey(), record);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException(
+                    HEADER + " " + record.getKey() + " was already used for a different request");
+        }
+
+        try {
+            return ResponseEntity.status(record.getStatusCode())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(record.getResponseBody(), BODY_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt stored response for " + HEADER + " " + record.getKey(), e);
+        }
+    }
+
+    private IdempotencyRecord await(String key, CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first request failed and stored nothing; surface the same failure to its duplicate
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private IdempotencyKeyInProgressException inProgress(String key) {
+        return new IdempotencyKeyInProgressException(
+                "A request with " + HEADER + " " + key + " is still in progress, try again later", retryAfterSeconds);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(
+                    objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+}
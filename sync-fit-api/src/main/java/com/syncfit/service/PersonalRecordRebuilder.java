@@ -0,0 +1,52 @@
+package com.syncfit.service;
+
+import com.syncfit.repository.ExerciseRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the exercise_records table from workouts loaded with plain SQL (data.sql, the synthetic seeder),
+ * which bypass the write path that keeps personal records up to date
+ */
+@Service
+public class PersonalRecordRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonalRecordRebuilder.class);
+
+    @Autowired
+    private ExerciseRecordRepository exerciseRecordRepository;
+
+    // Read-write transactions route to the primary, where the records are maintained
+    private final TransactionTemplate transactionTemplate;
+
+    public PersonalRecordRebuilder(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Build the records on startup only when there are none yet, e.g. on a freshly created database,
+     * so restarts against a populated primary don't pay for a full scan of workouts
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (exerciseRecordRepository.count() == 0) {
+                int merged = exerciseRecordRepository.mergeFromWorkouts();
+                log.info("Built {} personal record(s) from the workouts table", merged);
+            }
+        });
+    }
+
+    /**
+     * Raise the records to the heaviest weights in the workouts table, after rows were inserted in bulk
+     */
+    public void mergeFromWorkouts() {
+        transactionTemplate.executeWithoutResult(status -> exerciseRecordRepository.mergeFromWorkouts());
+    }
+}
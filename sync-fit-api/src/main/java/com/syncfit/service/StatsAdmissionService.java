@@ -0,0 +1,110 @@
+package com.syncfit.service;
+
+import com.syncfit.config.DataSourceRoutingContext;
+import com.syncfit.dto.WeeklyStats;
+import com.syncfit.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost-based admission control for weekly stats.
+ * Cheap ranges run inline; expensive ones run on the isolated stats pool or are shed when it is saturated.
+ */
+@Service
+public class StatsAdmissionService {
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    @Qualifier("statsExecutor")
+    private ThreadPoolExecutor statsExecutor;
+
+    @Value("${app.stats.admission.cost-per-week:50}")
+    private long costPerWeek;
+
+    @Value("${app.stats.admission.inline-max-cost:5000}")
+    private long inlineMaxCost;
+
+    @Value("${app.stats.admission.queue-deadline-ms:2000}")
+    private long queueDeadlineMs;
+
+    @Value("${app.stats.admission.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    /**
+     * Get weekly statistics, admitting the request according to its estimated cost
+     */
+    public CompletableFuture<List<WeeklyStats>> getWeeklyStats(String range) {
+        if (estimateCost(range) <= inlineMaxCost) {
+            return CompletableFuture.completedFuture(workoutService.getWeeklyStats(range));
+        }
+
+        CompletableFuture<List<WeeklyStats>> result = new CompletableFuture<>();
+        Supplier<List<WeeklyStats>> task = DataSourceRoutingContext.propagate(() -> workoutService.getWeeklyStats(range));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueDeadlineMs);
+
+        Runnable job = () -> {
+            // Second guard, for a job dequeued just as its deadline passed
+            if (System.nanoTime() > deadline) {
+                result.completeExceptionally(queueDeadlineExceeded());
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        try {
+            statsExecutor.execute(job);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException(
+                    "Too many expensive stats requests in progress, try again later",
+                    HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds);
+        }
+
+        // Answer at the deadline even while every worker is still busy; a job already running is left to finish
+        CompletableFuture.delayedExecutor(queueDeadlineMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (statsExecutor.remove(job)) {
+                result.completeExceptionally(queueDeadlineExceeded());
+            }
+        });
+
+        return result;
+    }
+
+    private ServiceOverloadedException queueDeadlineExceeded() {
+        return new ServiceOverloadedException(
+                "Stats request waited too long for capacity, try again later",
+                HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+    }
+
+    /**
+     * Estimate cost in row-equivalents: a fixed amount per week in the range plus the rows it covers.
+     * The row count is skipped once the week span alone makes the request expensive.
+     */
+    long estimateCost(String range) {
+        LocalDate[] statsDates = workoutService.getStatsDateRange(range);
+        long weeks = ChronoUnit.WEEKS.between(statsDates[0], statsDates[1]) + 1;
+
+        long cost = weeks * costPerWeek;
+        if (cost > inlineMaxCost) {
+            return cost;
+        }
+        return cost + workoutService.countWorkoutsBetween(statsDates[0], statsDates[1]);
+    }
+}
@@ -0,0 +1,222 @@
+package com.syncfit.service;
+
+import com.syncfit.entity.Workout;
+import com.syncfit.repository.WorkoutRepository;
+import com.syncfit.storage.ColdWorkoutStore;
+import com.syncfit.storage.WorkoutSegment;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Moves workouts older than the archive horizon out of the workouts table and into cold segments
+ */
+@Service
+public class WorkoutArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkoutArchiveService.class);
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ColdWorkoutStore coldWorkoutStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${app.archive.batch-size:50000}")
+    private int batchSize;
+
+    @Value("${app.datasource.primary.url:}")
+    private String primaryUrl;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    public WorkoutArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Segments outlive the process, so archiving needs a primary that keeps its rows and ids across restarts.
+     * Otherwise the recreated table hands out archived ids again and the next run archives them a second time.
+     */
+    @PostConstruct
+    public void checkPrimaryIsPersistent() {
+        if (enabled && (primaryUrl.contains(":mem:") || ddlAuto.startsWith("create"))) {
+            throw new IllegalStateException("app.archive.enabled=true needs a persistent primary database, but "
+                    + "app.datasource.primary.url=" + primaryUrl + " and spring.jpa.hibernate.ddl-auto=" + ddlAuto);
+        }
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOldWorkouts();
+        }
+    }
+
+    /**
+     * Archive every workout dated before the horizon, one segment per batch.
+     * Each batch is written to a pending segment, then its rows are locked, checked against what was
+     * written and deleted in one transaction. The segment is published only after that commits.
+     * A batch whose rows changed in the meantime is discarded and picked up again on the next run.
+     */
+    public int archiveOldWorkouts() {
+        LocalDate cutoff = LocalDate.now().minusDays(horizonDays);
+        int archived = 0;
+
+        while (true) {
+            List<Workout> batch = workoutRepository.findOldestBefore(cutoff, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            WorkoutSegment segment;
+            try {
+                segment = coldWorkoutStore.writeSegment(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write cold segment", e);
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> deleteArchivedRows(batch, segment));
+            } catch (RuntimeException e) {
+                try {
+                    coldWorkoutStore.discard(segment);
+                } catch (IOException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+                if (e instanceof BatchChangedException) {
+                    log.warn("Stopped archiving: {}", e.getMessage());
+                    return archived;
+                }
+                throw e;
+            }
+
+            try {
+                coldWorkoutStore.publish(segment);
+            } catch (IOException e) {
+                // The rows are gone from the table; the segment stays pending and is published on the next startup
+                throw new UncheckedIOException("Failed to publish cold segment " + segment.getPath(), e);
+            }
+
+            archived += batch.size();
+            log.info("Archived {} workout(s) into {}", batch.size(), segment.getPath());
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        return archived;
+    }
+
+    /**
+     * Settle segments left pending by an archive run that did not finish. The rows of a batch are
+     * deleted in a single transaction, so either all of them are still in the table (the delete never
+     * committed: discard the segment) or none are (it committed: publish the segment).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingSegments() {
+        for (WorkoutSegment segment : coldWorkoutStore.getPendingSegments()) {
+            List<Long> ids = Arrays.stream(segment.getIds()).boxed().toList();
+            // A read-write transaction runs on the primary, so replica lag cannot hide a committed delete
+            long remaining = transactionTemplate.execute(status -> {
+                long count = 0;
+                for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                    count += workoutRepository.countByIdIn(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+                }
+                return count;
+            });
+
+            try {
+                if (remaining == 0) {
+                    coldWorkoutStore.publish(segment);
+                    log.info("Published pending cold segment {}", segment.getPath());
+                } else {
+                    coldWorkoutStore.discard(segment);
+                    log.info("Discarded pending cold segment {} ({} of its rows are still in the table)",
+                            segment.getPath(), remaining);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to recover cold segment " + segment.getPath(), e);
+            }
+        }
+    }
+
+    private void deleteArchivedRows(List<Workout> batch, WorkoutSegment segment) {
+        Map<Long, Workout> archivedById = new HashMap<>();
+        for (Workout workout : batch) {
+            archivedById.put(workout.getId(), workout);
+        }
+        List<Long> ids = List.copyOf(archivedById.keySet());
+
+        // Lock the rows, so no update can land between the check and the delete
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            List<Workout> current = workoutRepository.findAllByIdForUpdate(chunk);
+            if (current.size() != chunk.size()) {
+                throw new BatchChangedException("workouts were deleted while their batch was being archived");
+            }
+            for (Workout workout : current) {
+                if (!sameValues(workout, archivedById.get(workout.getId()))) {
+                    throw new BatchChangedException(
+                            "workout " + workout.getId() + " was updated while its batch was being archived");
+                }
+            }
+        }
+
+        // Visible to readers right away; until commit they still prefer the table's copy
+        coldWorkoutStore.attach(segment);
+
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            workoutRepository.deleteAllByIdInBatch(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+        }
+    }
+
+    private static boolean sameValues(Workout current, Workout archived) {
+        return Objects.equals(current.getDate(), archived.getDate())
+                && Objects.equals(current.getExercise(), archived.getExercise())
+                && Objects.equals(current.getSets(), archived.getSets())
+                && Objects.equals(current.getReps(), archived.getReps())
+                && current.getWeight().compareTo(archived.getWeight()) == 0
+                && current.getRpe().compareTo(archived.getRpe()) == 0
+                && Objects.equals(current.getCreatedAt(), archived.getCreatedAt());
+    }
+
+    /**
+     * A batch no longer matches the table, so its segment must not replace the rows
+     */
+    private static class BatchChangedException extends RuntimeException {
+        BatchChangedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,37 +1,64 @@
 package com.syncfit.service;
 
+import com.syncfit.dto.PersonalRecord;
 import com.syncfit.dto.WeeklyStats;
 import com.syncfit.dto.WorkoutCreateRequest;
 import com.syncfit.entity.Workout;
 import com.syncfit.repository.WorkoutRepository;
+import com.syncfit.exception.ArchivedWorkoutException;
 import com.syncfit.exception.ResourceNotFoundException;
+import com.syncfit.repository.ExerciseRecordRepository;
+import com.syncfit.storage.ColdWorkoutStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.IsoFields;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
 public class WorkoutService {
 
+    // Same order as the repository queries: most recent date first, then most recently created
+    private static final Comparator<Workout> MOST_RECENT_FIRST = Comparator
+            .comparing(Workout::getDate, Comparator.reverseOrder())
+            .thenComparing(Workout::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
     @Autowired
     private WorkoutRepository workoutRepository;
 
+    @Autowired
+    private ExerciseRecordRepository exerciseRecordRepository;
+
+    @Autowired
+    private ColdWorkoutStore coldWorkoutStore;
+
+    @Value("${app.stats.max-weeks:520}")
+    private int maxStatsWeeks;
+
     /**
      * Get all workouts
      */
+    @Transactional(readOnly = true)
     public List<Workout> getAllWorkouts() {
-        return workoutRepository.findAllOrderByDateDesc();
+        return mergeWithColdStorage(workoutRepository.findAllOrderByDateDesc(), coldWorkoutStore.findAll());
     }
 
     /**
      * Get workouts filtered by week (YYYY-WW format)
      */
+    @Transactional(readOnly = true)
     public List<Workout> getWorkoutsByWeek(String week) {
         if (week == null || week.trim().isEmpty()) {
             return getAllWorkouts();
@@ -41,14 +68,15 @@ public class WorkoutService {
         LocalDate startOfWeek = weekDates[0];
         LocalDate endOfWeek = weekDates[1];
 
-        return workoutRepository.findByDateBetween(startOfWeek, endOfWeek);
+        return findWorkoutsBetween(startOfWeek, endOfWeek);
     }
 
     /**
-     * Get workout by ID
+     * Get workout by ID, including archived workouts
      */
     public Workout getWorkoutById(Long id) {
         return workoutRepository.findById(id)
+                .or(() -> coldWorkoutStore.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Workout not found with id: " + id));
     }
 
@@ -65,18 +93,21 @@ public class WorkoutService {
                 request.getRpe()
         );
 
-        return workoutRepository.save(workout);
+        Workout saved = workoutRepository.save(workout);
+        exerciseRecordRepository.raise(saved.getExercise(), saved.getWeight());
+        return saved;
     }
 
     /**
      * Get weekly statistics for the last N weeks
      */
+    @Transactional(readOnly = true)
     public List<WeeklyStats> getWeeklyStats(String range) {
-        int weeks = parseRangeString(range);
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusWeeks(weeks - 1).with(java.time.DayOfWeek.MONDAY);
+        LocalDate[] statsDates = getStatsDateRange(range);
+        LocalDate startDate = statsDates[0];
+        LocalDate endDate = statsDates[1];
 
-        List<Workout> workouts = workoutRepository.findByDateBetween(startDate, endDate);
+        List<Workout> workouts = findWorkoutsBetween(startDate, endDate);
 
         // Group workouts by week
         Map<String, List<Workout>> workoutsByWeek = workouts.stream()
@@ -101,19 +132,45 @@ public class WorkoutService {
         return stats;
     }
 
+    /**
+     * Get the start and end dates covered by a stats range like "last4w".
+     * Ranges longer than app.stats.max-weeks are rejected: one WeeklyStats is built per week.
+     */
+    public LocalDate[] getStatsDateRange(String range) {
+        int weeks = parseRangeString(range);
+        if (weeks < 1 || weeks > maxStatsWeeks) {
+            throw new IllegalArgumentException(
+                    "Invalid range: " + range + ". Expected between 1 and " + maxStatsWeeks + " weeks");
+        }
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusWeeks(weeks - 1).with(java.time.DayOfWeek.MONDAY);
+        return new LocalDate[]{startDate, endDate};
+    }
+
+    /**
+     * Count workouts in a date range; archived workouts are estimated from the segment index
+     */
+    @Transactional(readOnly = true)
+    public long countWorkoutsBetween(LocalDate startDate, LocalDate endDate) {
+        return workoutRepository.countWorkoutsByDateRange(startDate, endDate)
+                + coldWorkoutStore.estimateRowsBetween(startDate, endDate);
+    }
+
     /**
      * Delete workout by ID
      */
     public void deleteWorkout(Long id) {
-        if (!workoutRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Workout not found with id: " + id);
-        }
-        workoutRepository.deleteById(id);
+        Workout workout = workoutRepository.findById(id)
+                .orElseThrow(() -> notFoundOrArchived(id));
+        workoutRepository.delete(workout);
+        workoutRepository.flush();
+        exerciseRecordRepository.recompute(workout.getExercise());
     }
 
     /**
      * Search workouts by exercise name
      */
+    @Transactional(readOnly = true)
     public List<Workout> searchWorkoutsByExercise(String exerciseName) {
         return workoutRepository.findByExerciseContainingIgnoreCase(exerciseName);
     }
@@ -121,13 +178,78 @@ public class WorkoutService {
     /**
      * Get workouts from the last N days
      */
+    @Transactional(readOnly = true)
     public List<Workout> getRecentWorkouts(int days) {
         LocalDate fromDate = LocalDate.now().minusDays(days);
-        return workoutRepository.findWorkoutsFromDate(fromDate);
+        return mergeWithColdStorage(workoutRepository.findWorkoutsFromDate(fromDate), coldWorkoutStore.findFromDate(fromDate));
+    }
+
+    /**
+     * Get the heaviest weight lifted per exercise, including archived workouts
+     */
+    @Transactional(readOnly = true)
+    public List<PersonalRecord> getPersonalRecords() {
+        List<PersonalRecord> hot = exerciseRecordRepository.findPersonalRecords();
+        Map<String, BigDecimal> cold = coldWorkoutStore.findMaxWeightByExercise();
+        if (cold.isEmpty()) {
+            return hot;
+        }
+
+        Map<String, BigDecimal> merged = new TreeMap<>(cold);
+        for (PersonalRecord record : hot) {
+            merged.merge(record.getExercise(), record.getMaxWeight(), BigDecimal::max);
+        }
+        return merged.entrySet().stream()
+                .map(entry -> new PersonalRecord(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
     }
 
     // Private helper methods
 
+    /**
+     * Get workouts in a date range from both the workouts table and cold storage
+     */
+    private List<Workout> findWorkoutsBetween(LocalDate startDate, LocalDate endDate) {
+        return mergeWithColdStorage(
+                workoutRepository.findByDateBetween(startDate, endDate),
+                coldWorkoutStore.findByDateBetween(startDate, endDate));
+    }
+
+    /**
+     * Merge archived workouts into hot query results, most recent first.
+     * Rows still present in the table win over their archived copy while an archive run is in flight.
+     */
+    private List<Workout> mergeWithColdStorage(List<Workout> hot, List<Workout> cold) {
+        if (cold.isEmpty()) {
+            return hot;
+        }
+
+        Set<Long> hotIds = new HashSet<>();
+        for (Workout workout : hot) {
+            hotIds.add(workout.getId());
+        }
+
+        List<Workout> merged = new ArrayList<>(hot.size() + cold.size());
+        merged.addAll(hot);
+        for (Workout workout : cold) {
+            if (!hotIds.contains(workout.getId())) {
+                merged.add(workout);
+            }
+        }
+        merged.sort(MOST_RECENT_FIRST);
+        return merged;
+    }
+
+    /**
+     * Archived workouts are read-only, so changing one is a conflict rather than a missing resource
+     */
+    private RuntimeException notFoundOrArchived(Long id) {
+        if (coldWorkoutStore.findById(id).isPresent()) {
+            return new ArchivedWorkoutException("Workout " + id + " is archived and can no longer be changed");
+        }
+        return new ResourceNotFoundException("Workout not found with id: " + id);
+    }
+
     /**
      * Parse week string (YYYY-WW) to get start and end dates
      */
@@ -202,7 +324,10 @@ public class WorkoutService {
      */
     public Workout updateWorkout(Long id, WorkoutCreateRequest request) {
         Workout existingWorkout = workoutRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Workout not found with id: " + id));
+                .orElseThrow(() -> notFoundOrArchived(id));
+
+        String previousExercise = existingWorkout.getExercise();
+        BigDecimal previousWeight = existingWorkout.getWeight();
 
         // Update the workout fields
         existingWorkout.setExercise(request.getExercise());
@@ -212,6 +337,13 @@ public class WorkoutService {
         existingWorkout.setRpe(request.getRpe());
         existingWorkout.setDate(request.getDate());
 
-        return workoutRepository.save(existingWorkout);
+        Workout saved = workoutRepository.saveAndFlush(existingWorkout);
+
+        // The old record may have been this workout, so recompute it when the workout no longer matches it
+        if (!previousExercise.equals(saved.getExercise()) || saved.getWeight().compareTo(previousWeight) < 0) {
+            exerciseRecordRepository.recompute(previousExercise);
+        }
+        exerciseRecordRepository.raise(saved.getExercise(), saved.getWeight());
+        return saved;
     }
 }
\ No newline at end of file
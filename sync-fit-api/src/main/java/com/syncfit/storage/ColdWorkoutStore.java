@@ -0,0 +1,238 @@
+package com.syncfit.storage;
+
+import com.syncfit.entity.Workout;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier holding archived workouts in immutable, memory-mapped segment files.
+ * A segment is only loaded on startup once it is listed in the manifest, which is written after the
+ * rows it holds have been deleted from the table. Segment files not in the manifest are pending:
+ * the archive job decides on startup whether to publish or discard them.
+ */
+@Component
+public class ColdWorkoutStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdWorkoutStore.class);
+
+    private final Path directory;
+    static final String MANIFEST_FILE = "segments.manifest";
+
+    private final List<WorkoutSegment> segments = new CopyOnWriteArrayList<>();
+    private final List<WorkoutSegment> pending = new CopyOnWriteArrayList<>();
+
+    public ColdWorkoutStore(@Value("${app.archive.directory:data/segments}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Open every segment already present in the archive directory
+     */
+    @PostConstruct
+    public void loadSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        Set<String> published = readManifest();
+        List<WorkoutSegment> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    // Left behind by a write that never finished
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(WorkoutSegmentFormat.FILE_EXTENSION)) {
+                    WorkoutSegment segment = WorkoutSegment.open(file);
+                    if (published.contains(name)) {
+                        opened.add(segment);
+                    } else {
+                        pending.add(segment);
+                    }
+                }
+            }
+        }
+        opened.sort(Comparator.comparing(WorkoutSegment::getMinDate));
+        segments.addAll(opened);
+
+        log.info("Loaded {} cold workout segment(s) from {} ({} pending)",
+                opened.size(), directory.toAbsolutePath(), pending.size());
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public List<WorkoutSegment> getSegments() {
+        return List.copyOf(segments);
+    }
+
+    /**
+     * Segments found on disk that are not in the manifest, e.g. after a crash during an archive run
+     */
+    public List<WorkoutSegment> getPendingSegments() {
+        return List.copyOf(pending);
+    }
+
+    /**
+     * Get archived workouts dated between startDate and endDate (inclusive), in no particular order.
+     * A workout found in more than one segment is returned once.
+     */
+    public List<Workout> findByDateBetween(LocalDate startDate, LocalDate endDate) {
+        List<Workout> result = new ArrayList<>();
+        for (WorkoutSegment segment : segments) {
+            segment.findByDateBetween(startDate, endDate, result);
+        }
+        if (segments.size() < 2) {
+            return result;
+        }
+
+        Set<Long> seen = new HashSet<>();
+        result.removeIf(workout -> !seen.add(workout.getId()));
+        return result;
+    }
+
+    /**
+     * Get archived workouts dated on or after fromDate
+     */
+    public List<Workout> findFromDate(LocalDate fromDate) {
+        return findByDateBetween(fromDate, LocalDate.MAX);
+    }
+
+    /**
+     * Get all archived workouts
+     */
+    public List<Workout> findAll() {
+        return findByDateBetween(LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * Find an archived workout by id
+     */
+    public Optional<Workout> findById(Long id) {
+        for (WorkoutSegment segment : segments) {
+            Optional<Workout> workout = segment.findById(id);
+            if (workout.isPresent()) {
+                return workout;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Estimate archived rows in a date range without decompressing any blocks
+     */
+    public long estimateRowsBetween(LocalDate startDate, LocalDate endDate) {
+        long rows = 0;
+        for (WorkoutSegment segment : segments) {
+            rows += segment.estimateRowsBetween(startDate, endDate);
+        }
+        return rows;
+    }
+
+    /**
+     * Get the heaviest archived weight per exercise
+     */
+    public Map<String, BigDecimal> findMaxWeightByExercise() {
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (WorkoutSegment segment : segments) {
+            segment.getMaxWeightByExercise().forEach((exercise, weight) -> result.merge(exercise, weight, BigDecimal::max));
+        }
+        return result;
+    }
+
+    /**
+     * Write workouts to a new pending segment. It is not visible to readers until {@link #attach}ed.
+     */
+    public WorkoutSegment writeSegment(List<Workout> workouts) throws IOException {
+        Files.createDirectories(directory);
+
+        LocalDate minDate = workouts.stream().map(Workout::getDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate maxDate = workouts.stream().map(Workout::getDate).max(LocalDate::compareTo).orElseThrow();
+        Path file = directory.resolve(String.format("workouts-%s-%s-%d%s",
+                minDate, maxDate, System.currentTimeMillis(), WorkoutSegmentFormat.FILE_EXTENSION));
+
+        WorkoutSegmentWriter.write(file, workouts);
+        WorkoutSegment segment = WorkoutSegment.open(file);
+        pending.add(segment);
+        return segment;
+    }
+
+    /**
+     * Make a pending segment visible to readers of this instance without recording it in the manifest
+     */
+    public void attach(WorkoutSegment segment) {
+        if (!segments.contains(segment)) {
+            segments.add(segment);
+        }
+    }
+
+    /**
+     * Record a segment in the manifest, once the rows it holds are gone from the table
+     */
+    public synchronized void publish(WorkoutSegment segment) throws IOException {
+        attach(segment);
+        pending.remove(segment);
+        writeManifest();
+    }
+
+    /**
+     * Withdraw a segment that was not published, e.g. when the rows it holds could not be removed from the table
+     */
+    public synchronized void discard(WorkoutSegment segment) throws IOException {
+        segments.remove(segment);
+        pending.remove(segment);
+        Files.deleteIfExists(segment.getPath());
+    }
+
+    private Set<String> readManifest() throws IOException {
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifest)) {
+            return Set.of();
+        }
+        Set<String> names = new HashSet<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                names.add(line.trim());
+            }
+        }
+        return names;
+    }
+
+    private void writeManifest() throws IOException {
+        List<String> names = new ArrayList<>();
+        for (WorkoutSegment segment : segments) {
+            if (!pending.contains(segment)) {
+                names.add(segment.getPath().getFileName().toString());
+            }
+        }
+
+        // Same as segment files: write under a temporary name, then atomically replace
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        Path tmp = manifest.resolveSibling(MANIFEST_FILE + ".tmp");
+        Files.write(tmp, names, StandardCharsets.UTF_8);
+        Files.move(tmp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
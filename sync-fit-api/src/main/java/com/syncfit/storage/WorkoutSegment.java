@@ -0,0 +1,339 @@
+package com.syncfit.storage;
+
+import com.syncfit.entity.Workout;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.syncfit.storage.WorkoutSegmentFormat.*;
+
+/**
+ * Read-only view of a segment file, accessed through a memory mapping.
+ * Only the sparse block index is held on the heap; blocks are inflated on demand.
+ */
+public final class WorkoutSegment {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long rowCount;
+    private final LocalDate minDate;
+    private final LocalDate maxDate;
+
+    // Sparse index, one entry per block
+    private final int[] firstDays;
+    private final int[] lastDays;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final int[] rowCounts;
+    private final long[] minIds;
+    private final long[] maxIds;
+
+    // Segments are immutable, so aggregates are computed once and kept
+    private volatile Map<String, BigDecimal> maxWeightByExercise;
+
+    private WorkoutSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        if (size < HEADER_SIZE + FOOTER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(size - 4) != MAGIC) {
+            throw new IllegalStateException("Not a workout segment: " + path);
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION && version != VERSION_WITHOUT_ID_RANGE) {
+            throw new IllegalStateException("Unsupported segment version in " + path);
+        }
+        int entrySize = version == VERSION ? INDEX_ENTRY_SIZE : INDEX_ENTRY_SIZE_WITHOUT_ID_RANGE;
+
+        int footer = size - FOOTER_SIZE;
+        int blockCount = buffer.getInt(footer);
+        this.rowCount = buffer.getLong(footer + 4);
+        this.minDate = LocalDate.ofEpochDay(buffer.getInt(footer + 12));
+        this.maxDate = LocalDate.ofEpochDay(buffer.getInt(footer + 16));
+        int indexOffset = Math.toIntExact(buffer.getLong(footer + 20));
+
+        this.firstDays = new int[blockCount];
+        this.lastDays = new int[blockCount];
+        this.offsets = new long[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.rawLengths = new int[blockCount];
+        this.rowCounts = new int[blockCount];
+        this.minIds = new long[blockCount];
+        this.maxIds = new long[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            int entry = indexOffset + i * entrySize;
+            firstDays[i] = buffer.getInt(entry);
+            lastDays[i] = buffer.getInt(entry + 4);
+            offsets[i] = buffer.getLong(entry + 8);
+            compressedLengths[i] = buffer.getInt(entry + 16);
+            rawLengths[i] = buffer.getInt(entry + 20);
+            rowCounts[i] = buffer.getInt(entry + 24);
+            // Without an id range every block may hold any id
+            minIds[i] = version == VERSION ? buffer.getLong(entry + 28) : Long.MIN_VALUE;
+            maxIds[i] = version == VERSION ? buffer.getLong(entry + 36) : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Map a segment file into memory and load its sparse index
+     */
+    public static WorkoutSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new WorkoutSegment(path, buffer);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public LocalDate getMinDate() {
+        return minDate;
+    }
+
+    public LocalDate getMaxDate() {
+        return maxDate;
+    }
+
+    public boolean overlaps(LocalDate startDate, LocalDate endDate) {
+        return !maxDate.isBefore(startDate) && !minDate.isAfter(endDate);
+    }
+
+    /**
+     * Append all workouts dated between startDate and endDate (inclusive) to {@code result}
+     */
+    public void findByDateBetween(LocalDate startDate, LocalDate endDate, List<Workout> result) {
+        if (!overlaps(startDate, endDate)) {
+            return;
+        }
+
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+
+        // Blocks are date-sorted, so binary search for the first block that can contain start
+        int block = firstBlockEndingOnOrAfter(start);
+        for (; block < firstDays.length && firstDays[block] <= end; block++) {
+            decodeBlock(block, start, end, result);
+        }
+    }
+
+    /**
+     * Estimate the rows dated between startDate and endDate from the sparse index alone,
+     * counting every row of each overlapping block
+     */
+    public long estimateRowsBetween(LocalDate startDate, LocalDate endDate) {
+        if (!overlaps(startDate, endDate)) {
+            return 0;
+        }
+
+        long end = endDate.toEpochDay();
+        long rows = 0;
+        for (int block = firstBlockEndingOnOrAfter(startDate.toEpochDay());
+             block < firstDays.length && firstDays[block] <= end; block++) {
+            rows += rowCounts[block];
+        }
+        return rows;
+    }
+
+    /**
+     * Heaviest weight lifted per exercise in this segment
+     */
+    public Map<String, BigDecimal> getMaxWeightByExercise() {
+        Map<String, BigDecimal> result = maxWeightByExercise;
+        if (result == null) {
+            List<Workout> workouts = new ArrayList<>();
+            findByDateBetween(minDate, maxDate, workouts);
+
+            result = new HashMap<>();
+            for (Workout workout : workouts) {
+                result.merge(workout.getExercise(), workout.getWeight(), BigDecimal::max);
+            }
+            result = Map.copyOf(result);
+            maxWeightByExercise = result;
+        }
+        return result;
+    }
+
+    /**
+     * Find an archived workout by id, inflating only the blocks whose id range covers it
+     */
+    public Optional<Workout> findById(long id) {
+        for (int block = 0; block < rowCounts.length; block++) {
+            if (id >= minIds[block] && id <= maxIds[block]) {
+                Workout workout = decodeRowById(block, id);
+                if (workout != null) {
+                    return Optional.of(workout);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Ids of every workout in this segment. Inflates every block, so meant for maintenance, not requests.
+     */
+    public long[] getIds() {
+        long[] ids = new long[Math.toIntExact(rowCount)];
+        int at = 0;
+        for (int block = 0; block < rowCounts.length; block++) {
+            ByteBuffer raw = ByteBuffer.wrap(inflate(block));
+            int n = rowCounts[block];
+            for (int row = 0; row < n; row++) {
+                ids[at++] = raw.getLong(4 * n + row * 8);
+            }
+        }
+        return ids;
+    }
+
+    private int firstBlockEndingOnOrAfter(long epochDay) {
+        int low = 0;
+        int high = lastDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void decodeBlock(int block, long start, long end, List<Workout> result) {
+        ByteBuffer raw = ByteBuffer.wrap(inflate(block));
+        int n = rowCounts[block];
+        int firstDay = firstDays[block];
+        String[] dictionary = null;
+
+        for (int row = 0; row < n; row++) {
+            long day = firstDay + raw.getInt(row * 4);
+            if (day < start) {
+                continue;
+            }
+            if (day > end) {
+                break;
+            }
+
+            if (dictionary == null) {
+                dictionary = readDictionary(raw.array(), dictionaryOffset(n));
+            }
+            result.add(readRow(raw, block, row, dictionary));
+        }
+    }
+
+    private Workout decodeRowById(int block, long id) {
+        ByteBuffer raw = ByteBuffer.wrap(inflate(block));
+        int n = rowCounts[block];
+        for (int row = 0; row < n; row++) {
+            if (raw.getLong(4 * n + row * 8) == id) {
+                return readRow(raw, block, row, readDictionary(raw.array(), dictionaryOffset(n)));
+            }
+        }
+        return null;
+    }
+
+    private Workout readRow(ByteBuffer raw, int block, int row, String[] dictionary) {
+        int n = rowCounts[block];
+        int idsAt = 4 * n;
+        int createdAtAt = idsAt + 8 * n;
+        int setsAt = createdAtAt + 4 * n;
+        int repsAt = setsAt + 4 * n;
+        int weightAt = repsAt + 4 * n;
+        int rpeAt = weightAt + 8 * n;
+        int codesAt = raw.capacity() - 4 * n;
+
+        Workout workout = new Workout(
+                LocalDate.ofEpochDay(firstDays[block] + raw.getInt(row * 4)),
+                dictionary[raw.getInt(codesAt + row * 4)],
+                raw.getInt(setsAt + row * 4),
+                raw.getInt(repsAt + row * 4),
+                BigDecimal.valueOf(raw.getLong(weightAt + row * 8), WEIGHT_SCALE),
+                BigDecimal.valueOf(raw.getInt(rpeAt + row * 4), RPE_SCALE)
+        );
+        workout.setId(raw.getLong(idsAt + row * 8));
+        int createdAt = raw.getInt(createdAtAt + row * 4);
+        if (createdAt != NO_CREATED_AT) {
+            workout.setCreatedAt(LocalDate.ofEpochDay(createdAt));
+        }
+        return workout;
+    }
+
+    // Columns before the dictionary: date, id, createdAt, sets, reps, weight, rpe
+    private static int dictionaryOffset(int n) {
+        return 4 * n + 8 * n + 4 * n + 4 * n + 4 * n + 8 * n + 4 * n;
+    }
+
+    private byte[] inflate(int block) {
+        // Slice straight out of the mapping so compressed bytes are never copied onto the heap
+        ByteBuffer compressed = buffer.slice(Math.toIntExact(offsets[block]), compressedLengths[block]);
+        byte[] raw = new byte[rawLengths[block]];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, raw.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != raw.length) {
+                throw new IllegalStateException("Truncated block " + block + " in " + path);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private String[] readDictionary(byte[] raw, int offset) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(raw, offset, raw.length - offset))) {
+            String[] entries = new String[in.readInt()];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = in.readUTF();
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt exercise dictionary in " + path, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WorkoutSegment{" +
+                "path=" + path +
+                ", rowCount=" + rowCount +
+                ", minDate=" + minDate +
+                ", maxDate=" + maxDate +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.syncfit.storage;
+
+/**
+ * On-disk layout of an immutable workout segment file.
+ *
+ * <pre>
+ * header : int MAGIC, short VERSION
+ * blocks : deflate-compressed column blocks of up to BLOCK_SIZE rows, sorted by date
+ * index  : per block -> int firstEpochDay, int lastEpochDay, long offset, int compressedLength, int rawLength, int rowCount,
+ *                       long minId, long maxId
+ * footer : int blockCount, long rowCount, int minEpochDay, int maxEpochDay, long indexOffset, int MAGIC
+ * </pre>
+ *
+ * Inside a block each column is stored contiguously: date (delta from the block's first day),
+ * id, createdAt, sets, reps, weight (unscaled, scale 2), rpe (unscaled, scale 1) and exercise
+ * (a per-block dictionary followed by one dictionary index per row).
+ * Version 1 files have no id range in their index entries.
+ */
+final class WorkoutSegmentFormat {
+
+    static final int MAGIC = 0x53465347; // "SFSG"
+    static final short VERSION = 2;
+    static final short VERSION_WITHOUT_ID_RANGE = 1;
+
+    static final int HEADER_SIZE = 4 + 2;
+    static final int INDEX_ENTRY_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 8 + 8;
+    static final int INDEX_ENTRY_SIZE_WITHOUT_ID_RANGE = 4 + 4 + 8 + 4 + 4 + 4;
+    static final int FOOTER_SIZE = 4 + 8 + 4 + 4 + 8 + 4;
+
+    // Rows per block; the sparse index holds one entry per block
+    static final int BLOCK_SIZE = 1024;
+
+    static final int WEIGHT_SCALE = 2;
+    static final int RPE_SCALE = 1;
+    static final int NO_CREATED_AT = Integer.MIN_VALUE;
+
+    static final String FILE_EXTENSION = ".seg";
+
+    private WorkoutSegmentFormat() {}
+}
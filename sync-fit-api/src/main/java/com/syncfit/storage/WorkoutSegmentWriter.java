@@ -0,0 +1,161 @@
+package com.syncfit.storage;
+
+import com.syncfit.entity.Workout;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static com.syncfit.storage.WorkoutSegmentFormat.*;
+
+/**
+ * Writes workouts into a new immutable segment file.
+ */
+public final class WorkoutSegmentWriter {
+
+    private WorkoutSegmentWriter() {}
+
+    /**
+     * Write the given workouts to {@code target}. The file is written under a temporary name and
+     * atomically moved into place, so readers never observe a partially written segment.
+     */
+    public static void write(Path target, List<Workout> workouts) throws IOException {
+        if (workouts.isEmpty()) {
+            throw new IllegalArgumentException("Cannot write an empty segment");
+        }
+
+        List<Workout> sorted = new ArrayList<>(workouts);
+        sorted.sort(Comparator.comparing(Workout::getDate).thenComparing(Workout::getId));
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            long offset = HEADER_SIZE;
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream indexOut = new DataOutputStream(index);
+            int blockCount = 0;
+
+            for (int from = 0; from < sorted.size(); from += BLOCK_SIZE) {
+                List<Workout> block = sorted.subList(from, Math.min(from + BLOCK_SIZE, sorted.size()));
+                byte[] raw = encodeBlock(block);
+                byte[] compressed = compress(raw);
+                out.write(compressed);
+
+                indexOut.writeInt(epochDay(block.get(0)));
+                indexOut.writeInt(epochDay(block.get(block.size() - 1)));
+                indexOut.writeLong(offset);
+                indexOut.writeInt(compressed.length);
+                indexOut.writeInt(raw.length);
+                indexOut.writeInt(block.size());
+                indexOut.writeLong(block.stream().mapToLong(Workout::getId).min().orElseThrow());
+                indexOut.writeLong(block.stream().mapToLong(Workout::getId).max().orElseThrow());
+
+                offset += compressed.length;
+                blockCount++;
+            }
+
+            out.write(index.toByteArray());
+
+            out.writeInt(blockCount);
+            out.writeLong(sorted.size());
+            out.writeInt(epochDay(sorted.get(0)));
+            out.writeInt(epochDay(sorted.get(sorted.size() - 1)));
+            out.writeLong(offset);
+            out.writeInt(MAGIC);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encodeBlock(List<Workout> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.size() * 40);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        int firstDay = epochDay(block.get(0));
+        for (Workout w : block) {
+            out.writeInt(epochDay(w) - firstDay);
+        }
+        for (Workout w : block) {
+            out.writeLong(w.getId());
+        }
+        for (Workout w : block) {
+            out.writeInt(w.getCreatedAt() != null ? (int) w.getCreatedAt().toEpochDay() : NO_CREATED_AT);
+        }
+        for (Workout w : block) {
+            out.writeInt(w.getSets());
+        }
+        for (Workout w : block) {
+            out.writeInt(w.getReps());
+        }
+        for (Workout w : block) {
+            out.writeLong(unscaled(w.getWeight(), WEIGHT_SCALE));
+        }
+        for (Workout w : block) {
+            out.writeInt((int) unscaled(w.getRpe(), RPE_SCALE));
+        }
+
+        // Exercise names repeat heavily, so store them as a per-block dictionary
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] codes = new int[block.size()];
+        for (int i = 0; i < block.size(); i++) {
+            String exercise = block.get(i).getExercise();
+            Integer code = dictionary.get(exercise);
+            if (code == null) {
+                code = entries.size();
+                dictionary.put(exercise, code);
+                entries.add(exercise);
+            }
+            codes[i] = code;
+        }
+        out.writeInt(entries.size());
+        for (String entry : entries) {
+            out.writeUTF(entry);
+        }
+        for (int code : codes) {
+            out.writeInt(code);
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(byte[] raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int epochDay(Workout workout) {
+        return Math.toIntExact(workout.getDate().toEpochDay());
+    }
+
+    private static long unscaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,173 @@
+package com.syncfit.config;
+
+import com.syncfit.dto.WorkoutCreateRequest;
+import com.syncfit.entity.Workout;
+import com.syncfit.service.WorkoutService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Points the replica pool at its own in-memory database, holding different rows than the primary,
+ * so every read shows which pool served it.
+ */
+@SpringBootTest(properties = {
+        "app.archive.directory=target/test-segments",
+        "app.datasource.primary.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadWriteRoutingTest {
+
+    private static final String REPLICA_MARKER = "Replica Marker";
+    private static final String PRIMARY_MARKER = "Primary Marker";
+    private static final int REPLICA_ROWS = 3;
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeAll
+    void populate() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        // Hibernate only creates the schema on the primary
+        replica.execute("""
+                CREATE TABLE workouts (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    workout_date DATE NOT NULL,
+                    exercise VARCHAR(100) NOT NULL,
+                    sets INTEGER NOT NULL,
+                    reps INTEGER NOT NULL,
+                    weight NUMERIC(6, 2) NOT NULL,
+                    rpe NUMERIC(3, 1) NOT NULL,
+                    created_at DATE
+                )""");
+        for (int i = 0; i < REPLICA_ROWS; i++) {
+            insertMarker(replica, REPLICA_MARKER);
+        }
+        insertMarker(primary, PRIMARY_MARKER);
+    }
+
+    @Test
+    void getAllWorkoutsReadsFromReplica() {
+        assertAllFromReplica(workoutService.getAllWorkouts());
+    }
+
+    @Test
+    void getWorkoutsByWeekReadsFromReplica() {
+        String week = String.format("%d-W%02d",
+                TODAY.get(IsoFields.WEEK_BASED_YEAR), TODAY.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        assertAllFromReplica(workoutService.getWorkoutsByWeek(week));
+    }
+
+    @Test
+    void searchWorkoutsByExerciseReadsFromReplica() {
+        assertAllFromReplica(workoutService.searchWorkoutsByExercise("marker"));
+    }
+
+    @Test
+    void getRecentWorkoutsReadsFromReplica() {
+        assertAllFromReplica(workoutService.getRecentWorkouts(7));
+    }
+
+    @Test
+    void getWeeklyStatsReadsFromReplica() {
+        assertThat(workoutService.getWeeklyStats("last1w"))
+                .singleElement()
+                .satisfies(week -> assertThat(week.getTotalWorkouts()).isEqualTo(REPLICA_ROWS));
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        Integer primaryBefore = countMarkers(primary, "Routed Write");
+        Integer replicaBefore = countMarkers(replica, "Routed Write");
+
+        workoutService.createWorkout(new WorkoutCreateRequest(TODAY, "Routed Write", 3, 5,
+                new BigDecimal("50.00"), new BigDecimal("7.0")));
+
+        assertThat(countMarkers(primary, "Routed Write")).isEqualTo(primaryBefore + 1);
+        assertThat(countMarkers(replica, "Routed Write")).isEqualTo(replicaBefore);
+    }
+
+    @Test
+    void readsAfterAWriteStayOnPrimaryForThatClient() throws Exception {
+        mockMvc.perform(post("/workouts")
+                        .header(ReadYourWritesFilter.CLIENT_ID_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"date": "%s", "exercise": "%s", "sets": 3, "reps": 5, "weight": 50.0, "rpe": 7.0}
+                                """.formatted(TODAY, PRIMARY_MARKER)))
+                .andExpect(status().isCreated());
+
+        // The writer reads its own write from the primary
+        mockMvc.perform(get("/workouts").param("exercise", "marker")
+                        .header(ReadYourWritesFilter.CLIENT_ID_HEADER, "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].exercise", everyItem(is(PRIMARY_MARKER))));
+
+        // Other clients keep reading from the replica
+        mockMvc.perform(get("/workouts").param("exercise", "marker")
+                        .header(ReadYourWritesFilter.CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(REPLICA_ROWS)))
+                .andExpect(jsonPath("$[*].exercise", everyItem(is(REPLICA_MARKER))));
+    }
+
+    private void assertAllFromReplica(List<Workout> workouts) {
+        assertThat(workouts)
+                .hasSize(REPLICA_ROWS)
+                .extracting(Workout::getExercise)
+                .containsOnly(REPLICA_MARKER);
+    }
+
+    private static void insertMarker(JdbcTemplate jdbcTemplate, String exercise) {
+        jdbcTemplate.update(
+                "INSERT INTO workouts (workout_date, exercise, sets, reps, weight, rpe, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                Date.valueOf(TODAY), exercise, 3, 5, new BigDecimal("50.00"), new BigDecimal("7.0"), Date.valueOf(TODAY));
+    }
+
+    private static Integer countMarkers(JdbcTemplate jdbcTemplate, String exercise) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM workouts WHERE exercise = ?", Integer.class, exercise);
+    }
+}
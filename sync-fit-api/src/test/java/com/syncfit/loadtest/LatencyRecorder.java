@@ -0,0 +1,65 @@
+package com.syncfit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw latency samples for one operation on one worker thread.
+ * Recorders from all workers are merged before percentiles are computed.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    public void record(long latencyNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Summarise the samples. Sorts the recorder in place.
+     */
+    public LoadTestReport.Result summarise(String operation, double durationSeconds) {
+        Arrays.sort(samples, 0, count);
+        return new LoadTestReport.Result(
+                operation,
+                count,
+                errors,
+                percentileMillis(0.50),
+                percentileMillis(0.99),
+                count > 0 ? samples[count - 1] / 1_000_000.0 : 0,
+                count / durationSeconds);
+    }
+
+    private double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return samples[Math.max(0, index)] / 1_000_000.0;
+    }
+}
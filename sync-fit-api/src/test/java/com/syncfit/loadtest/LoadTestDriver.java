@@ -0,0 +1,334 @@
+package com.syncfit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load driver for a running SyncFit API.
+ *
+ * <pre>
+ * run:     java -cp target/test-classes com.syncfit.loadtest.LoadTestDriver run --duration 60s --concurrency 32 \
+ *              --mix list=25,week=20,search=15,stats=15,create=10,update=10,delete=5 \
+ *              --slo list=50,stats=250 --label baseline --out load-reports/baseline.csv
+ * compare: java -cp target/test-classes com.syncfit.loadtest.LoadTestDriver compare load-reports/a.csv load-reports/b.csv
+ * </pre>
+ *
+ * Uses only the JDK so, after mvn test-compile, it runs straight from target/test-classes without the application
+ * or test dependencies on the classpath.
+ */
+public class LoadTestDriver {
+
+    private static final String DEFAULT_MIX = "list=25,week=20,search=15,stats=15,create=10,update=10,delete=5";
+    private static final String[] EXERCISES = {
+            "Bench Press", "Squat", "Deadlift", "Overhead Press", "Barbell Row", "Pull-ups", "Leg Press"
+    };
+    private static final String[] STATS_RANGES = {"last4w", "last12w", "last26w", "last52w"};
+    private static final Pattern WORKOUT_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String baseUrl;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int concurrency;
+    private final Map<Operation, Integer> mix;
+    private final int historyWeeks;
+    private final int maxSeededId;
+    private final long seed;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Workouts created during the run, used as targets for update and delete
+    private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<>();
+
+    public LoadTestDriver(String baseUrl, Duration duration, Duration warmup, int concurrency,
+                          Map<Operation, Integer> mix, int historyWeeks, int maxSeededId, long seed) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.concurrency = concurrency;
+        this.mix = mix;
+        this.historyWeeks = historyWeeks;
+        this.maxSeededId = maxSeededId;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            if (args.length != 3) {
+                throw new IllegalArgumentException("Usage: compare <baseline.csv> <candidate.csv>");
+            }
+            LoadTestReport.compare(LoadTestReport.read(Paths.get(args[1])), LoadTestReport.read(Paths.get(args[2])), System.out);
+            return;
+        }
+
+        Map<String, String> options = parseOptions(args, args.length > 0 && args[0].equals("run") ? 1 : 0);
+        String mixSpec = options.getOrDefault("mix", DEFAULT_MIX);
+
+        LoadTestDriver driver = new LoadTestDriver(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                parseDuration(options.getOrDefault("duration", "60s")),
+                parseDuration(options.getOrDefault("warmup", "10s")),
+                Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                parseMix(mixSpec),
+                Integer.parseInt(options.getOrDefault("history-weeks", "156")),
+                Integer.parseInt(options.getOrDefault("max-id", "100")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("label", options.getOrDefault("label", "run"));
+        metadata.put("baseUrl", driver.baseUrl);
+        metadata.put("duration", driver.duration.toString());
+        metadata.put("concurrency", String.valueOf(driver.concurrency));
+        metadata.put("mix", mixSpec.replace(',', ';'));
+        if (options.containsKey("note")) {
+            metadata.put("note", options.get("note"));
+        }
+
+        LoadTestReport report = driver.run(metadata);
+        applySlos(report, options.get("slo"));
+        report.print(System.out);
+
+        if (options.containsKey("out")) {
+            Path out = Paths.get(options.get("out"));
+            report.write(out);
+            System.out.println("Report written to " + out.toAbsolutePath());
+        }
+        if (!report.meetsSlos()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Warm up, then drive load for the configured duration and summarise the measured window
+     */
+    public LoadTestReport run(Map<String, String> metadata) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(i, warmupEnd, end);
+            Thread thread = new Thread(worker, "load-worker-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        LatencyRecorder total = new LatencyRecorder();
+        for (Worker worker : workers) {
+            worker.recorders.forEach((operation, recorder) -> {
+                merged.computeIfAbsent(operation, o -> new LatencyRecorder()).merge(recorder);
+                total.merge(recorder);
+            });
+        }
+
+        List<LoadTestReport.Result> results = new ArrayList<>();
+        merged.forEach((operation, recorder) -> results.add(recorder.summarise(operation.getKey(), seconds)));
+        results.add(total.summarise("total", seconds));
+
+        return new LoadTestReport(metadata, results);
+    }
+
+    private final class Worker implements Runnable {
+
+        private final String clientId;
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long end;
+        private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        private final Operation[] weighted;
+
+        Worker(int index, long measureFrom, long end) {
+            this.clientId = "loadtest-" + index;
+            this.random = new SplittableRandom(seed + index);
+            this.measureFrom = measureFrom;
+            this.end = end;
+
+            List<Operation> slots = new ArrayList<>();
+            mix.forEach((operation, weight) -> {
+                for (int w = 0; w < weight; w++) {
+                    slots.add(operation);
+                }
+            });
+            this.weighted = slots.toArray(new Operation[0]);
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < end) {
+                Operation operation = weighted[random.nextInt(weighted.length)];
+                HttpRequest request = buildRequest(operation);
+                if (request == null) {
+                    // Nothing to update or delete yet
+                    operation = Operation.CREATE;
+                    request = buildRequest(operation);
+                }
+
+                long started = System.nanoTime();
+                boolean ok;
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    ok = response.statusCode() < 400;
+                    if (ok && operation == Operation.CREATE) {
+                        Matcher matcher = WORKOUT_ID.matcher(response.body());
+                        if (matcher.find()) {
+                            createdIds.add(Long.parseLong(matcher.group(1)));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long elapsed = System.nanoTime() - started;
+
+                if (started >= measureFrom) {
+                    LatencyRecorder recorder = recorders.computeIfAbsent(operation, o -> new LatencyRecorder());
+                    if (ok) {
+                        recorder.record(elapsed);
+                    } else {
+                        recorder.recordError();
+                    }
+                }
+            }
+        }
+
+        private HttpRequest buildRequest(Operation operation) {
+            switch (operation) {
+                case LIST:
+                    return get("/workouts");
+                case GET:
+                    return get("/workouts/" + (1 + random.nextInt(maxSeededId)));
+                case WEEK:
+                    LocalDate day = LocalDate.now().minusWeeks(random.nextInt(historyWeeks));
+                    return get(String.format("/workouts?week=%d-W%02d",
+                            day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+                case SEARCH:
+                    return get("/workouts?exercise=" + URLEncoder.encode(randomExercise(), StandardCharsets.UTF_8));
+                case STATS:
+                    return get("/stats?range=" + STATS_RANGES[random.nextInt(STATS_RANGES.length)]);
+                case CREATE:
+                    return send("POST", "/workouts", randomWorkoutJson());
+                case UPDATE:
+                    Long updateId = createdIds.peekLast();
+                    return updateId == null ? null : send("PUT", "/workouts/" + updateId, randomWorkoutJson());
+                case DELETE:
+                    Long deleteId = createdIds.pollFirst();
+                    return deleteId == null ? null : request("/workouts/" + deleteId).DELETE().build();
+                default:
+                    throw new IllegalStateException("Unhandled operation " + operation);
+            }
+        }
+
+        private HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        private HttpRequest send(String method, String path, String json) {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("X-Client-Id", clientId);
+        }
+
+        private String randomExercise() {
+            return EXERCISES[random.nextInt(EXERCISES.length)];
+        }
+
+        private String randomWorkoutJson() {
+            LocalDate date = LocalDate.now().minusDays(random.nextInt(historyWeeks * 7));
+            return String.format(Locale.ROOT,
+                    "{\"date\":\"%s\",\"exercise\":\"%s\",\"sets\":%d,\"reps\":%d,\"weight\":%.1f,\"rpe\":%.1f}",
+                    date, randomExercise(), 3 + random.nextInt(3), 5 + random.nextInt(8),
+                    20 + random.nextInt(160) * 1.0, 6 + random.nextInt(9) * 0.5);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args, int from) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = from; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(pair[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + spec);
+        }
+        return mix;
+    }
+
+    private static void applySlos(LoadTestReport report, String spec) {
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.split("=");
+            LoadTestReport.Result result = report.find(pair[0].trim());
+            if (result != null) {
+                result.setSloP99Millis(Double.parseDouble(pair[1].trim()));
+            }
+        }
+    }
+
+    static Duration parseDuration(String value) {
+        value = value.trim().toLowerCase(Locale.ROOT);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,172 @@
+package com.syncfit.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Results of one load-test run, stored as CSV with '#'-prefixed metadata lines
+ */
+public class LoadTestReport {
+
+    private static final String HEADER = "operation,requests,errors,p50_ms,p99_ms,max_ms,throughput_rps,slo_p99_ms";
+
+    private final Map<String, String> metadata;
+    private final List<Result> results;
+
+    public LoadTestReport(Map<String, String> metadata, List<Result> results) {
+        this.metadata = metadata;
+        this.results = results;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public Result find(String operation) {
+        for (Result result : results) {
+            if (result.getOperation().equals(operation)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * True when every operation with a p99 SLO stayed within it
+     */
+    public boolean meetsSlos() {
+        return results.stream().allMatch(Result::meetsSlo);
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        List<String> lines = new ArrayList<>();
+        metadata.forEach((key, value) -> lines.add("# " + key + "=" + value));
+        lines.add(HEADER);
+        for (Result result : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.1f,%s",
+                    result.getOperation(), result.getRequests(), result.getErrors(),
+                    result.getP50Millis(), result.getP99Millis(), result.getMaxMillis(),
+                    result.getThroughput(), result.getSloP99Millis() != null ? result.getSloP99Millis() : ""));
+        }
+        Files.write(file, lines);
+    }
+
+    public static LoadTestReport read(Path file) throws IOException {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        List<Result> results = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.startsWith("#")) {
+                String[] pair = line.substring(1).trim().split("=", 2);
+                metadata.put(pair[0], pair.length > 1 ? pair[1] : "");
+            } else if (!line.isBlank() && !line.equals(HEADER)) {
+                String[] f = line.split(",", -1);
+                Result result = new Result(f[0], Long.parseLong(f[1]), Long.parseLong(f[2]),
+                        Double.parseDouble(f[3]), Double.parseDouble(f[4]), Double.parseDouble(f[5]),
+                        Double.parseDouble(f[6]));
+                if (!f[7].isEmpty()) {
+                    result.setSloP99Millis(Double.parseDouble(f[7]));
+                }
+                results.add(result);
+            }
+        }
+        return new LoadTestReport(metadata, results);
+    }
+
+    public void print(PrintStream out) {
+        out.println("Run: " + metadata);
+        out.printf(Locale.ROOT, "%-8s %10s %8s %10s %10s %10s %12s  %s%n",
+                "op", "requests", "errors", "p50 ms", "p99 ms", "max ms", "req/s", "SLO p99");
+        for (Result r : results) {
+            String slo = r.getSloP99Millis() == null ? "-"
+                    : String.format(Locale.ROOT, "%.0f ms %s", r.getSloP99Millis(), r.meetsSlo() ? "OK" : "BREACHED");
+            out.printf(Locale.ROOT, "%-8s %10d %8d %10.2f %10.2f %10.2f %12.1f  %s%n",
+                    r.getOperation(), r.getRequests(), r.getErrors(),
+                    r.getP50Millis(), r.getP99Millis(), r.getMaxMillis(), r.getThroughput(), slo);
+        }
+    }
+
+    /**
+     * Print how {@code candidate} moved relative to {@code baseline}, operation by operation
+     */
+    public static void compare(LoadTestReport baseline, LoadTestReport candidate, PrintStream out) {
+        out.println("Baseline:  " + baseline.getMetadata());
+        out.println("Candidate: " + candidate.getMetadata());
+        out.printf(Locale.ROOT, "%-8s %26s %26s %26s %26s%n", "op", "p50 ms", "p99 ms", "max ms", "req/s");
+        for (Result base : baseline.getResults()) {
+            Result next = candidate.find(base.getOperation());
+            if (next == null) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-8s %26s %26s %26s %26s%n",
+                    base.getOperation(),
+                    delta(base.getP50Millis(), next.getP50Millis()),
+                    delta(base.getP99Millis(), next.getP99Millis()),
+                    delta(base.getMaxMillis(), next.getMaxMillis()),
+                    delta(base.getThroughput(), next.getThroughput()));
+        }
+    }
+
+    private static String delta(double before, double after) {
+        String change = before == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+        return String.format(Locale.ROOT, "%.2f -> %.2f (%s)", before, after, change);
+    }
+
+    public static class Result {
+
+        private final String operation;
+        private final long requests;
+        private final long errors;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        private final double throughput;
+        private Double sloP99Millis;
+
+        public Result(String operation, long requests, long errors,
+                      double p50Millis, double p99Millis, double maxMillis, double throughput) {
+            this.operation = operation;
+            this.requests = requests;
+            this.errors = errors;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+            this.throughput = throughput;
+        }
+
+        public String getOperation() { return operation; }
+
+        public long getRequests() { return requests; }
+
+        public long getErrors() { return errors; }
+
+        public double getP50Millis() { return p50Millis; }
+
+        public double getP99Millis() { return p99Millis; }
+
+        public double getMaxMillis() { return maxMillis; }
+
+        public double getThroughput() { return throughput; }
+
+        public Double getSloP99Millis() { return sloP99Millis; }
+
+        public void setSloP99Millis(Double sloP99Millis) { this.sloP99Millis = sloP99Millis; }
+
+        public boolean meetsSlo() {
+            return sloP99Millis == null || p99Millis <= sloP99Millis;
+        }
+    }
+}
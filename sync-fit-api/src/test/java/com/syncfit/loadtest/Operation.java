@@ -0,0 +1,34 @@
+package com.syncfit.loadtest;
+
+/**
+ * Endpoint operations the load driver can mix
+ */
+public enum Operation {
+    LIST("list"),
+    GET("get"),
+    WEEK("week"),
+    SEARCH("search"),
+    STATS("stats"),
+    CREATE("create"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,69 @@
+package com.syncfit.service;
+
+import com.syncfit.exception.IdempotencyKeyInProgressException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A duplicate request waits for the first request with its key only for a bounded time
+ */
+@SpringBootTest(properties = {
+        "app.archive.directory=target/test-segments",
+        "app.idempotency.cleanup-enabled=false",
+        "app.idempotency.in-flight-timeout=200ms",
+        "app.idempotency.retry-after-seconds=3"
+})
+class IdempotencyServiceTest {
+
+    private static final Map<String, Object> REQUEST = Map.of("exercise", "Squat");
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Test
+    void duplicateOfAStuckRequestIsToldToRetry() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Map<String, Object>>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("stuck-key", REQUEST, () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", 1));
+                }));
+
+        try {
+            started.await();
+            assertThatThrownBy(() -> idempotencyService.execute("stuck-key", REQUEST, () -> {
+                throw new AssertionError("The duplicate must not run the action");
+            }))
+                    .isInstanceOf(IdempotencyKeyInProgressException.class)
+                    .satisfies(e -> assertThat(((IdempotencyKeyInProgressException) e).getRetryAfterSeconds()).isEqualTo(3));
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        // Once the first request is done, the retry gets its stored response
+        ResponseEntity<Map<String, Object>> retry = idempotencyService.execute("stuck-key", REQUEST, () -> {
+            throw new AssertionError("The retry must not run the action");
+        });
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+}
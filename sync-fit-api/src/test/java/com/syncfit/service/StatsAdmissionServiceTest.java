@@ -0,0 +1,125 @@
+package com.syncfit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sheds stats requests once the stats pool is saturated. The pool has one thread and one queue slot,
+ * and every range counts as expensive, so each request goes through the pool.
+ */
+@SpringBootTest(properties = {
+        "app.archive.directory=target/test-segments",
+        "app.stats.admission.inline-max-cost=0",
+        "app.stats.admission.max-concurrency=1",
+        "app.stats.admission.queue-capacity=1",
+        "app.stats.admission.queue-deadline-ms=500",
+        "app.stats.admission.retry-after-seconds=7"
+})
+@AutoConfigureMockMvc
+class StatsAdmissionServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("statsExecutor")
+    private ThreadPoolExecutor statsExecutor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releasePool() throws InterruptedException {
+        release.countDown();
+        // Let queued tasks drain, so the next test starts with an idle pool
+        while (statsExecutor.getActiveCount() > 0 || !statsExecutor.getQueue().isEmpty()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void queuedRequestIsAnsweredOnceThePoolFreesUp() throws Exception {
+        occupyWorker();
+
+        MvcResult result = mockMvc.perform(get("/stats").param("range", "last4w"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        release.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void requestIsRejectedWith429WhenTheQueueIsFull() throws Exception {
+        occupyWorker();
+        statsExecutor.execute(this::awaitRelease);
+
+        mockMvc.perform(get("/stats").param("range", "last4w"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+    }
+
+    @Test
+    void requestIsRejectedWith503AfterWaitingPastTheDeadline() throws Exception {
+        occupyWorker();
+
+        MvcResult result = mockMvc.perform(get("/stats").param("range", "last4w"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Answered while the worker is still busy, and taken out of the queue
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+        assertThat(statsExecutor.getActiveCount()).isEqualTo(1);
+        assertThat(statsExecutor.getQueue()).isEmpty();
+    }
+
+    @Test
+    void hugeRangeIsRejectedBeforeReachingThePool() throws Exception {
+        long submitted = statsExecutor.getTaskCount();
+
+        mockMvc.perform(get("/stats").param("range", "last2000000000w"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(statsExecutor.getTaskCount()).isEqualTo(submitted);
+    }
+
+    /**
+     * Block the pool's only thread until the test releases it
+     */
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        statsExecutor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        started.await();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
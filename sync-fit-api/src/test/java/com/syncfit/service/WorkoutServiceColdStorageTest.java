@@ -0,0 +1,135 @@
+package com.syncfit.service;
+
+import com.syncfit.dto.WeeklyStats;
+import com.syncfit.dto.WorkoutCreateRequest;
+import com.syncfit.entity.Workout;
+import com.syncfit.exception.ArchivedWorkoutException;
+import com.syncfit.exception.ResourceNotFoundException;
+import com.syncfit.repository.WorkoutRepository;
+import com.syncfit.storage.ColdWorkoutStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Merging of workouts table rows (mocked) with archived rows in a real cold store.
+ */
+@ExtendWith(MockitoExtension.class)
+class WorkoutServiceColdStorageTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @TempDir
+    Path directory;
+
+    private ColdWorkoutStore coldWorkoutStore;
+    private WorkoutService workoutService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        coldWorkoutStore = new ColdWorkoutStore(directory.toString());
+        coldWorkoutStore.loadSegments();
+
+        workoutService = new WorkoutService();
+        ReflectionTestUtils.setField(workoutService, "workoutRepository", workoutRepository);
+        ReflectionTestUtils.setField(workoutService, "coldWorkoutStore", coldWorkoutStore);
+        ReflectionTestUtils.setField(workoutService, "maxStatsWeeks", 520);
+    }
+
+    @Test
+    void listsHotAndColdWorkoutsMostRecentFirst() throws IOException {
+        archive(workout(1L, TODAY.minusDays(400), "Squat"), workout(2L, TODAY.minusDays(500), "Squat"));
+        when(workoutRepository.findAllOrderByDateDesc()).thenReturn(List.of(workout(3L, TODAY, "Bench Press")));
+
+        assertThat(workoutService.getAllWorkouts())
+                .extracting(Workout::getId)
+                .containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void rowStillInTheTableIsReturnedOnceAndFromTheTable() throws IOException {
+        // An archive run is in flight: the row is in both tiers
+        archive(workout(1L, TODAY.minusDays(400), "Squat"));
+        when(workoutRepository.findAllOrderByDateDesc()).thenReturn(List.of(workout(1L, TODAY.minusDays(400), "Front Squat")));
+
+        assertThat(workoutService.getAllWorkouts())
+                .singleElement()
+                .extracting(Workout::getExercise)
+                .isEqualTo("Front Squat");
+    }
+
+    @Test
+    void weeklyStatsCountArchivedRowsOnce() throws IOException {
+        Workout archived = workout(1L, TODAY, "Squat");
+        archive(archived, workout(2L, TODAY, "Deadlift"));
+        when(workoutRepository.findByDateBetween(any(), any())).thenReturn(List.of(archived, workout(3L, TODAY, "Bench Press")));
+
+        List<WeeklyStats> stats = workoutService.getWeeklyStats("last1w");
+
+        assertThat(stats).singleElement().satisfies(week -> {
+            assertThat(week.getTotalWorkouts()).isEqualTo(3);
+            // 5 x 5 x 100 per workout
+            assertThat(week.getVolume()).isEqualByComparingTo("7500");
+        });
+    }
+
+    @Test
+    void archivedWorkoutIsFoundById() throws IOException {
+        archive(workout(1L, TODAY.minusDays(400), "Squat"));
+        when(workoutRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(workoutService.getWorkoutById(1L).getExercise()).isEqualTo("Squat");
+    }
+
+    @Test
+    void archivedWorkoutCannotBeChanged() throws IOException {
+        archive(workout(1L, TODAY.minusDays(400), "Squat"));
+        when(workoutRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> workoutService.updateWorkout(1L, new WorkoutCreateRequest()))
+                .isInstanceOf(ArchivedWorkoutException.class);
+        assertThatThrownBy(() -> workoutService.deleteWorkout(1L))
+                .isInstanceOf(ArchivedWorkoutException.class);
+        verify(workoutRepository, never()).delete(any());
+    }
+
+    @Test
+    void unknownWorkoutIsNotFound() {
+        when(workoutRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> workoutService.getWorkoutById(9L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void archive(Workout... workouts) throws IOException {
+        coldWorkoutStore.publish(coldWorkoutStore.writeSegment(List.of(workouts)));
+    }
+
+    private static Workout workout(Long id, LocalDate date, String exercise) {
+        Workout workout = new Workout(date, exercise, 5, 5, new BigDecimal("100.00"), new BigDecimal("8.0"));
+        workout.setId(id);
+        workout.setCreatedAt(date);
+        return workout;
+    }
+}
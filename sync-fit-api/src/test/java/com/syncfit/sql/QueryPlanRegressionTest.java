@@ -0,0 +1,124 @@
+package com.syncfit.sql;
+
+import com.syncfit.repository.WorkoutRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL each repository query generates against a populated database and
+ * fails when a query that should be served by an index falls back to a table scan.
+ *
+ * findAllOrderByDateDesc and findByExerciseContainingIgnoreCase (leading wildcard) read the whole
+ * table by design and are not checked.
+ */
+@SpringBootTest(properties = {
+        SqlStatementCounter.INSPECTOR_PROPERTY,
+        "app.archive.directory=target/test-segments",
+        "app.idempotency.cleanup-enabled=false",
+        "app.datasource.primary.url=jdbc:h2:mem:syncfit-plans",
+        "app.datasource.replica.url=jdbc:h2:mem:syncfit-plans"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final int ROWS = 20_000;
+    private static final int PAGE_SIZE = 100;
+
+    private static final LocalDate TO = LocalDate.now();
+    private static final LocalDate FROM = TO.minusWeeks(4);
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void populate() {
+        // About four years of history, so a four-week range is a small slice of the table
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Date date = Date.valueOf(TO.minusDays(i % 1460));
+            rows.add(new Object[]{date, "Exercise " + (i % 12), 3, 10, new BigDecimal("60.00"), new BigDecimal("7.5"), date});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO workouts (workout_date, exercise, sets, reps, weight, rpe, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void findByDateBetweenUsesIndex() {
+        assertUsesIndex(() -> workoutRepository.findByDateBetween(FROM, TO), FROM, TO);
+    }
+
+    @Test
+    void findWorkoutsFromDateUsesIndex() {
+        assertUsesIndex(() -> workoutRepository.findWorkoutsFromDate(FROM), FROM);
+    }
+
+    @Test
+    void countWorkoutsByDateRangeUsesIndex() {
+        assertUsesIndex(() -> workoutRepository.countWorkoutsByDateRange(FROM, TO), FROM, TO);
+    }
+
+    @Test
+    void findOldestBeforeUsesIndex() {
+        LocalDate cutoff = TO.minusYears(3);
+        assertUsesIndex(() -> workoutRepository.findOldestBefore(cutoff, PageRequest.of(0, PAGE_SIZE)), cutoff);
+    }
+
+    @Test
+    void findByIdUsesPrimaryKey() {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM workouts", Long.class);
+        assertUsesIndex(() -> workoutRepository.findById(id), id);
+    }
+
+    @Test
+    void personalRecordRecomputeUsesIndex() {
+        // The lookup inside ExerciseRecordRepository.recompute, which runs on every delete
+        String plan = explain("SELECT MAX(w.weight) FROM workouts w WHERE w.exercise = ?", "Exercise 1");
+
+        assertThat(plan)
+                .as("Query plan for the personal record recompute")
+                .doesNotContain("tableScan");
+    }
+
+    private void assertUsesIndex(Runnable query, Object... parameters) {
+        SqlStatementCounter.reset();
+        query.run();
+        String sql = SqlStatementCounter.lastSelect();
+
+        String plan = explain(sql, parameters);
+
+        assertThat(plan)
+                .as("Query plan for %s", sql)
+                .doesNotContain("tableScan");
+    }
+
+    /**
+     * EXPLAIN the statement with its parameters bound. Placeholders beyond the given
+     * parameters are pagination limits and get the page size.
+     */
+    private String explain(String sql, Object... parameters) {
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] arguments = new Object[placeholders];
+        for (int i = 0; i < placeholders; i++) {
+            arguments[i] = i < parameters.length ? parameters[i] : PAGE_SIZE;
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, arguments);
+    }
+}
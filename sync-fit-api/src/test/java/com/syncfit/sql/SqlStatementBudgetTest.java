@@ -0,0 +1,163 @@
+package com.syncfit.sql;
+
+import com.syncfit.entity.Workout;
+import com.syncfit.repository.WorkoutRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 queries: each endpoint may emit at most its budgeted number of SQL statements.
+ * Raise a budget only when the extra statement is intended.
+ */
+@SpringBootTest(properties = {
+        SqlStatementCounter.INSPECTOR_PROPERTY,
+        "app.archive.directory=target/test-segments",
+        // The cleanup job's statements would land in the shared counter
+        "app.idempotency.cleanup-enabled=false"
+})
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+
+    private static final String WORKOUT_JSON = """
+            {"date": "2025-07-02", "exercise": "Bench Press", "sets": 3, "reps": 10, "weight": 70.0, "rpe": 7.5}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Test
+    void listWorkouts() throws Exception {
+        assertStatementBudget(1, get("/workouts"), status().isOk());
+    }
+
+    @Test
+    void listWorkoutsByWeek() throws Exception {
+        assertStatementBudget(1, get("/workouts").param("week", "2025-W30"), status().isOk());
+    }
+
+    @Test
+    void searchWorkoutsByExercise() throws Exception {
+        assertStatementBudget(1, get("/workouts").param("exercise", "squat"), status().isOk());
+    }
+
+    @Test
+    void listRecentWorkouts() throws Exception {
+        assertStatementBudget(1, get("/workouts").param("days", "7"), status().isOk());
+    }
+
+    @Test
+    void getWorkoutById() throws Exception {
+        Long id = saveWorkout().getId();
+        assertStatementBudget(1, get("/workouts/{id}", id), status().isOk());
+    }
+
+    @Test
+    void weeklyStats() throws Exception {
+        // Admission-control row count, then the stats query
+        assertStatementBudget(2, get("/stats").param("range", "last4w"), status().isOk());
+    }
+
+    @Test
+    void weeklyStatsDoesNotScaleWithRange() throws Exception {
+        assertStatementBudget(2, get("/stats").param("range", "last52w"), status().isOk());
+    }
+
+    @Test
+    void dashboard() throws Exception {
+        // One query each for recent workouts, weekly stats and records
+        assertStatementBudget(3, get("/dashboard"), status().isOk());
+    }
+
+    @Test
+    void createWorkout() throws Exception {
+        // Insert, then raise the exercise's personal record
+        assertStatementBudget(2,
+                post("/workouts").contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON),
+                status().isCreated());
+    }
+
+    @Test
+    void createWorkoutWithIdempotencyKey() throws Exception {
+        // Key lookup, workout insert, personal record, key insert
+        assertStatementBudget(4,
+                post("/workouts").header("Idempotency-Key", "budget-create")
+                        .contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON),
+                status().isCreated());
+    }
+
+    @Test
+    void replayedCreateWorkoutDoesNotTouchDatabase() throws Exception {
+        mockMvc.perform(post("/workouts").header("Idempotency-Key", "budget-replay")
+                        .contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON))
+                .andExpect(status().isCreated());
+
+        assertStatementBudget(0,
+                post("/workouts").header("Idempotency-Key", "budget-replay")
+                        .contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON),
+                status().isCreated());
+    }
+
+    @Test
+    void reusedIdempotencyKeyIsRejected() throws Exception {
+        mockMvc.perform(post("/workouts").header("Idempotency-Key", "budget-reuse")
+                        .contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON))
+                .andExpect(status().isCreated());
+
+        assertStatementBudget(0,
+                post("/workouts").header("Idempotency-Key", "budget-reuse")
+                        .contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON.replace("Bench Press", "Squat")),
+                status().isUnprocessableEntity());
+    }
+
+    @Test
+    void updateWorkout() throws Exception {
+        Long id = saveWorkout().getId();
+        // Load, update, then recompute the old exercise's record and raise the new one's
+        assertStatementBudget(4,
+                put("/workouts/{id}", id).contentType(MediaType.APPLICATION_JSON).content(WORKOUT_JSON),
+                status().isOk());
+    }
+
+    @Test
+    void deleteWorkout() throws Exception {
+        Long id = saveWorkout().getId();
+        // Load, delete, then recompute the exercise's record
+        assertStatementBudget(3, delete("/workouts/{id}", id), status().isOk());
+    }
+
+    private void assertStatementBudget(int budget, RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        SqlStatementCounter.reset();
+
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        expectedStatus.match(result);
+
+        assertThat(SqlStatementCounter.count())
+                .as("SQL statements emitted: %s", SqlStatementCounter.statements())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private Workout saveWorkout() {
+        return workoutRepository.save(new Workout(LocalDate.now(), "Squat", 4, 8,
+                new BigDecimal("100.00"), new BigDecimal("8.0")));
+    }
+}
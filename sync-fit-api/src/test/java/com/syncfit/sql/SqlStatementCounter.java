@@ -0,0 +1,49 @@
+package com.syncfit.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate statement inspector that records every SQL statement the application prepares.
+ * Registered through {@link #INSPECTOR_PROPERTY}; state is static because Hibernate creates the instance.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String INSPECTOR_PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.syncfit.sql.SqlStatementCounter";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static int count() {
+        return STATEMENTS.size();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    /**
+     * The most recent SELECT, e.g. the query a repository method just ran
+     */
+    public static String lastSelect() {
+        for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+            String sql = STATEMENTS.get(i);
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                return sql;
+            }
+        }
+        throw new IllegalStateException("No SELECT statement recorded");
+    }
+}
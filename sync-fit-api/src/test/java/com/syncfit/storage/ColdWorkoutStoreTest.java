@@ -0,0 +1,86 @@
+package com.syncfit.storage;
+
+import com.syncfit.entity.Workout;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdWorkoutStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 3, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenSegmentIsHiddenUntilAttached() throws IOException {
+        ColdWorkoutStore store = newStore();
+        WorkoutSegment segment = store.writeSegment(List.of(workout(1L, DAY)));
+
+        assertThat(store.findAll()).isEmpty();
+        assertThat(store.getPendingSegments()).containsExactly(segment);
+
+        store.attach(segment);
+        assertThat(store.findAll()).extracting(Workout::getId).containsExactly(1L);
+        assertThat(store.findById(1L)).isPresent();
+    }
+
+    @Test
+    void onlyPublishedSegmentsAreLoadedOnStartup() throws IOException {
+        ColdWorkoutStore store = newStore();
+        store.publish(store.writeSegment(List.of(workout(1L, DAY))));
+        WorkoutSegment unpublished = store.writeSegment(List.of(workout(2L, DAY.plusDays(1))));
+        store.attach(unpublished);
+
+        ColdWorkoutStore reloaded = newStore();
+
+        assertThat(reloaded.findAll()).extracting(Workout::getId).containsExactly(1L);
+        assertThat(reloaded.getPendingSegments())
+                .extracting(WorkoutSegment::getPath)
+                .containsExactly(unpublished.getPath());
+    }
+
+    @Test
+    void discardRemovesTheSegmentFile() throws IOException {
+        ColdWorkoutStore store = newStore();
+        WorkoutSegment segment = store.writeSegment(List.of(workout(1L, DAY)));
+        store.attach(segment);
+
+        store.discard(segment);
+
+        assertThat(store.findAll()).isEmpty();
+        assertThat(store.getPendingSegments()).isEmpty();
+        assertThat(Files.exists(segment.getPath())).isFalse();
+    }
+
+    @Test
+    void workoutInSeveralSegmentsIsReturnedOnce() throws IOException {
+        ColdWorkoutStore store = newStore();
+        store.publish(store.writeSegment(List.of(workout(1L, DAY), workout(2L, DAY))));
+        store.publish(store.writeSegment(List.of(workout(1L, DAY), workout(3L, DAY.plusDays(1)))));
+
+        assertThat(store.findAll()).extracting(Workout::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(store.findByDateBetween(DAY, DAY)).extracting(Workout::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private ColdWorkoutStore newStore() throws IOException {
+        ColdWorkoutStore store = new ColdWorkoutStore(directory.toString());
+        store.loadSegments();
+        return store;
+    }
+
+    static Workout workout(Long id, LocalDate date) {
+        Workout workout = new Workout(date, "Squat", 5, 5, new BigDecimal("100.00"), new BigDecimal("8.0"));
+        workout.setId(id);
+        workout.setCreatedAt(date);
+        return workout;
+    }
+}
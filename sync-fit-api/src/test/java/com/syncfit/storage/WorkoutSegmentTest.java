@@ -0,0 +1,213 @@
+package com.syncfit.storage;
+
+import com.syncfit.entity.Workout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips workouts through {@link WorkoutSegmentWriter} and {@link WorkoutSegment}.
+ */
+class WorkoutSegmentTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+
+    // 7 rows a day, so block boundaries (every 1024 rows) fall in the middle of a day
+    private static final int ROWS_PER_DAY = 7;
+    private static final int ROWS = 3000;
+
+    private static final String[] EXERCISES = {"Squat", "Bench Press", "Deadlift", "Überkopfdrücken", "Pull-up"};
+
+    @TempDir
+    Path directory;
+
+    private List<Workout> workouts;
+    private WorkoutSegment segment;
+
+    @BeforeEach
+    void writeSegment() throws IOException {
+        workouts = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Workout workout = new Workout(
+                    FIRST_DAY.plusDays(i / ROWS_PER_DAY),
+                    EXERCISES[i % EXERCISES.length],
+                    1 + i % 5,
+                    1 + i % 12,
+                    new BigDecimal(20 + i % 180 + ".25"),
+                    new BigDecimal(5 + i % 5 + ".5"));
+            // Ids out of date order, as after updates moved workouts between days
+            workout.setId((long) (i * 7919 % 100_003) + 1);
+            workout.setCreatedAt(i % 10 == 0 ? null : workout.getDate().plusDays(i % 3));
+            workouts.add(workout);
+        }
+
+        Path file = directory.resolve("test" + WorkoutSegmentFormat.FILE_EXTENSION);
+        WorkoutSegmentWriter.write(file, workouts);
+        segment = WorkoutSegment.open(file);
+    }
+
+    @Test
+    void readsBackEveryRowAcrossBlocks() {
+        assertThat(segment.getRowCount()).isEqualTo(ROWS);
+        assertThat(segment.getMinDate()).isEqualTo(FIRST_DAY);
+        assertThat(segment.getMaxDate()).isEqualTo(FIRST_DAY.plusDays((ROWS - 1) / ROWS_PER_DAY));
+
+        List<Workout> read = new ArrayList<>();
+        segment.findByDateBetween(segment.getMinDate(), segment.getMaxDate(), read);
+
+        assertSameWorkouts(read, workouts);
+    }
+
+    @Test
+    void dateRangesAtBlockBoundaries() {
+        List<Workout> sorted = new ArrayList<>(workouts);
+        sorted.sort(Comparator.comparing(Workout::getDate).thenComparing(Workout::getId));
+        LocalDate lastOfFirstBlock = sorted.get(WorkoutSegmentFormat.BLOCK_SIZE - 1).getDate();
+        LocalDate firstOfSecondBlock = sorted.get(WorkoutSegmentFormat.BLOCK_SIZE).getDate();
+
+        // The day split across the first two blocks
+        assertRange(lastOfFirstBlock, lastOfFirstBlock);
+        assertRange(firstOfSecondBlock, firstOfSecondBlock);
+        assertRange(lastOfFirstBlock.minusDays(1), firstOfSecondBlock.plusDays(1));
+        // From the last day of the second block into the third
+        LocalDate lastOfSecondBlock = sorted.get(2 * WorkoutSegmentFormat.BLOCK_SIZE - 1).getDate();
+        assertRange(lastOfSecondBlock, segment.getMaxDate());
+        // Outside the segment
+        assertRange(FIRST_DAY.minusDays(10), FIRST_DAY.minusDays(1));
+        assertRange(segment.getMaxDate().plusDays(1), segment.getMaxDate().plusDays(10));
+    }
+
+    @Test
+    void keepsMissingCreatedAt() {
+        Map<Long, Workout> read = readAll();
+
+        for (Workout workout : workouts) {
+            assertThat(read.get(workout.getId()).getCreatedAt()).isEqualTo(workout.getCreatedAt());
+        }
+        assertThat(read.values()).anyMatch(workout -> workout.getCreatedAt() == null);
+    }
+
+    @Test
+    void decodesExerciseDictionary() {
+        Map<Long, Workout> read = readAll();
+
+        for (Workout workout : workouts) {
+            assertThat(read.get(workout.getId()).getExercise()).isEqualTo(workout.getExercise());
+        }
+        assertThat(segment.getMaxWeightByExercise()).containsOnlyKeys(EXERCISES);
+    }
+
+    @Test
+    void estimatesRowsFromTheIndex() {
+        assertThat(segment.estimateRowsBetween(segment.getMinDate(), segment.getMaxDate())).isEqualTo(ROWS);
+        assertThat(segment.estimateRowsBetween(FIRST_DAY.minusDays(10), FIRST_DAY.minusDays(1))).isZero();
+
+        // Whole overlapping blocks are counted, so the estimate never falls short
+        LocalDate start = FIRST_DAY.plusDays(100);
+        LocalDate end = FIRST_DAY.plusDays(200);
+        long actual = workouts.stream().filter(w -> !w.getDate().isBefore(start) && !w.getDate().isAfter(end)).count();
+        assertThat(segment.estimateRowsBetween(start, end))
+                .isGreaterThanOrEqualTo(actual)
+                .isLessThanOrEqualTo(actual + 2L * WorkoutSegmentFormat.BLOCK_SIZE);
+    }
+
+    @Test
+    void findsWorkoutsById() {
+        for (Workout workout : List.of(workouts.get(0), workouts.get(1500), workouts.get(ROWS - 1))) {
+            assertThat(segment.findById(workout.getId()))
+                    .hasValueSatisfying(found -> assertSameWorkout(found, workout));
+        }
+        assertThat(segment.findById(-1)).isEmpty();
+
+        long[] ids = segment.getIds();
+        Arrays.sort(ids);
+        assertThat(ids).containsExactly(workouts.stream().mapToLong(Workout::getId).sorted().toArray());
+    }
+
+    @Test
+    void readsVersionOneSegmentsWithoutIdRanges() throws IOException {
+        Path file = directory.resolve("v1" + WorkoutSegmentFormat.FILE_EXTENSION);
+        Files.write(file, withoutIdRanges(Files.readAllBytes(segment.getPath())));
+        WorkoutSegment v1 = WorkoutSegment.open(file);
+
+        Workout workout = workouts.get(1500);
+        assertThat(v1.findById(workout.getId())).hasValueSatisfying(found -> assertSameWorkout(found, workout));
+        assertThat(v1.findById(-1)).isEmpty();
+        assertThat(v1.getIds()).hasSize(ROWS);
+    }
+
+    // Rewrite a current segment in the version 1 layout: same blocks, index entries without min/max id
+    private static byte[] withoutIdRanges(byte[] v2) {
+        ByteBuffer in = ByteBuffer.wrap(v2);
+        int footer = v2.length - WorkoutSegmentFormat.FOOTER_SIZE;
+        int blockCount = in.getInt(footer);
+        int indexOffset = Math.toIntExact(in.getLong(footer + 20));
+
+        ByteBuffer out = ByteBuffer.allocate(indexOffset
+                + blockCount * WorkoutSegmentFormat.INDEX_ENTRY_SIZE_WITHOUT_ID_RANGE
+                + WorkoutSegmentFormat.FOOTER_SIZE);
+        out.put(v2, 0, indexOffset);
+        out.putShort(4, WorkoutSegmentFormat.VERSION_WITHOUT_ID_RANGE);
+        for (int block = 0; block < blockCount; block++) {
+            out.put(v2, indexOffset + block * WorkoutSegmentFormat.INDEX_ENTRY_SIZE,
+                    WorkoutSegmentFormat.INDEX_ENTRY_SIZE_WITHOUT_ID_RANGE);
+        }
+        out.put(v2, footer, WorkoutSegmentFormat.FOOTER_SIZE);
+        return out.array();
+    }
+
+    private void assertRange(LocalDate start, LocalDate end) {
+        List<Workout> read = new ArrayList<>();
+        segment.findByDateBetween(start, end, read);
+
+        List<Workout> expected = workouts.stream()
+                .filter(w -> !w.getDate().isBefore(start) && !w.getDate().isAfter(end))
+                .toList();
+        assertSameWorkouts(read, expected);
+    }
+
+    private Map<Long, Workout> readAll() {
+        List<Workout> read = new ArrayList<>();
+        segment.findByDateBetween(segment.getMinDate(), segment.getMaxDate(), read);
+        return read.stream().collect(Collectors.toMap(Workout::getId, workout -> workout));
+    }
+
+    private static void assertSameWorkouts(List<Workout> actual, List<Workout> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        Map<Long, Workout> byId = new HashMap<>();
+        for (Workout workout : actual) {
+            byId.put(workout.getId(), workout);
+        }
+        for (Workout workout : expected) {
+            assertThat(byId).containsKey(workout.getId());
+            assertSameWorkout(byId.get(workout.getId()), workout);
+        }
+    }
+
+    private static void assertSameWorkout(Workout actual, Workout expected) {
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getDate()).isEqualTo(expected.getDate());
+        assertThat(actual.getExercise()).isEqualTo(expected.getExercise());
+        assertThat(actual.getSets()).isEqualTo(expected.getSets());
+        assertThat(actual.getReps()).isEqualTo(expected.getReps());
+        assertThat(actual.getWeight()).isEqualByComparingTo(expected.getWeight());
+        assertThat(actual.getRpe()).isEqualByComparingTo(expected.getRpe());
+        assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+    }
+}
@@ -0,0 +1,98 @@
+#!/bin/bash
+
+# SyncFit startup benchmark
+# Builds four variants and measures the time from JVM launch to the first successful request:
+#   baseline  - the regular executable jar, through Spring Boot's nested-jar launcher
+#   classpath - the same classes without AOT, run from an unpacked plain classpath
+#   aot       - Spring AOT-processed classes (mvn -Paot), run from an unpacked plain classpath
+#   aot-cds   - the same, plus an AppCDS archive recorded by a training run
+# aot and aot-cds are compared with classpath, so the gain shown for them is AOT and CDS alone,
+# not the change of launcher.
+# Each run also writes a phase/bean startup timeline to target/startup/<variant>-timeline.txt
+
+set -e
+cd "$(dirname "$0")"
+
+RUNS=${RUNS:-5}
+OUT=$PWD/target/startup
+HEALTH_URL=http://localhost:8080/health
+
+if lsof -i :8080 >/dev/null 2>&1; then
+    echo "⚠️  Port 8080 is in use, stop the running backend first"
+    exit 1
+fi
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+
+# unpack <executable jar> <dir>: repackage the application classes as <dir>/app.jar next to its
+# dependencies in <dir>/lib, and print the resulting plain classpath.
+# CDS only archives classes loaded from jars on the plain classpath, not through the nested-jar launcher
+unpack() {
+    local dir=$2
+    mkdir -p "$dir/unpacked" "$dir/lib"
+    (cd "$dir/unpacked" && unzip -q "$1")
+    jar cf "$dir/app.jar" -C "$dir/unpacked/BOOT-INF/classes" .
+    cp "$dir"/unpacked/BOOT-INF/lib/*.jar "$dir/lib/"
+    rm -rf "$dir/unpacked"
+    echo "$dir/app.jar:$(ls "$dir"/lib/*.jar | sort | tr '\n' ':')"
+}
+
+echo "🔨 Building baseline jar..."
+mvn -q -DskipTests package
+cp target/syncfit-backend-*-SNAPSHOT.jar "$OUT/baseline.jar"
+PLAIN_CLASSPATH_JARS=$(unpack "$OUT/baseline.jar" "$OUT/classpath")
+CLASSPATH_CMD=(java -cp "$PLAIN_CLASSPATH_JARS" com.syncfit.SyncFitApplication)
+
+echo "🔨 Building AOT-processed jar..."
+mvn -q -Paot -DskipTests package
+CLASSPATH_JARS=$(unpack "$(ls "$PWD"/target/syncfit-backend-*-SNAPSHOT.jar | head -1)" "$OUT/aot")
+AOT_CMD=(java -Dspring.aot.enabled=true -cp "$CLASSPATH_JARS" com.syncfit.SyncFitApplication)
+
+echo "🎓 Recording the CDS archive with a training run..."
+java -XX:ArchiveClassesAtExit="$OUT/aot/app.jsa" -Dspring.aot.enabled=true \
+    -cp "$CLASSPATH_JARS" com.syncfit.SyncFitApplication \
+    --app.startup.exit-on-ready=true > "$OUT/cds-training.log" 2>&1
+CDS_CMD=(java -XX:SharedArchiveFile="$OUT/aot/app.jsa" -Dspring.aot.enabled=true \
+    -cp "$CLASSPATH_JARS" com.syncfit.SyncFitApplication)
+
+# measure <label> <command...>: mean ms from launch to the first 200 from /health
+measure() {
+    local label=$1
+    shift
+    local total=0
+    for i in $(seq 1 "$RUNS"); do
+        local start=$(date +%s%N)
+        "$@" --app.startup.report=true --app.startup.report-file="$OUT/$label-timeline.txt" \
+            > "$OUT/$label.log" 2>&1 &
+        local pid=$!
+        until curl -sf "$HEALTH_URL" >/dev/null; do
+            if ! kill -0 $pid 2>/dev/null; then
+                echo "❌ $label exited during startup, see $OUT/$label.log"
+                exit 1
+            fi
+            sleep 0.02
+        done
+        local elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+        kill $pid
+        wait $pid 2>/dev/null || true
+        echo "  $label run $i: ${elapsed} ms"
+        total=$((total + elapsed))
+    done
+    echo "$label $((total / RUNS))" >> "$OUT/results.txt"
+}
+
+echo "⏱️  Measuring time to first request ($RUNS runs each)..."
+measure baseline java -jar "$OUT/baseline.jar"
+measure classpath "${CLASSPATH_CMD[@]}"
+measure aot "${AOT_CMD[@]}"
+measure aot-cds "${CDS_CMD[@]}"
+
+echo ""
+echo "📊 Mean time to first request"
+# Percentages against classpath leave out the launcher change and show what AOT and CDS add
+awk 'NR == 1 { base = $2 } NR == 2 { plain = $2 }
+     { printf "  %-10s %6d ms  (%+.1f%% vs baseline", $1, $2, ($2 - base) * 100 / base }
+     NR > 1 { printf ", %+.1f%% vs classpath", ($2 - plain) * 100 / plain }
+     { print ")" }' "$OUT/results.txt" \
+    | tee "$OUT/report.txt"
@@ -1,4 +1,5 @@
 import React, { useState, useEffect } from 'react';
+import axios from 'axios';
 import { useParams, Link, useNavigate } from 'react-router-dom';
 import { workoutService } from '../services/workoutService';
 import type { Workout } from '../types';
@@ -58,7 +59,10 @@ const WorkoutDetail: React.FC = () => {
       await workoutService.deleteWorkout(workout.id);
       navigate('/');
     } catch (err) {
-      setError('Failed to delete workout');
+      // Archived workouts are read-only; the API explains why with a 409
+      setError(axios.isAxiosError(err) && err.response?.status === 409
+        ? err.response.data.message
+        : 'Failed to delete workout');
       console.error('Error deleting workout:', err);
     }
   };
@@ -97,7 +101,9 @@ const WorkoutDetail: React.FC = () => {
       setIsEditing(false);
       setError(null);
     } catch (err) {
-      setError('Failed to update workout');
+      setError(axios.isAxiosError(err) && err.response?.status === 409
+        ? err.response.data.message
+        : 'Failed to update workout');
       console.error('Error updating workout:', err);
     }
   };
@@ -1,4 +1,5 @@
 import React, { useState, useEffect, useMemo, useCallback } from 'react';
+import axios from 'axios';
 import { Link } from 'react-router-dom';
 import { workoutService } from '../services/workoutService';
 import type { Workout } from '../types';
@@ -89,7 +90,10 @@ const WorkoutsList: React.FC = React.memo(() => {
       await workoutService.deleteWorkout(id);
       setWorkouts(workouts.filter(w => w.id !== id));
     } catch (err) {
-      setError('Failed to delete workout');
+      // Archived workouts are read-only; the API explains why with a 409
+      setError(axios.isAxiosError(err) && err.response?.status === 409
+        ? err.response.data.message
+        : 'Failed to delete workout');
       console.error('Error deleting workout:', err);
     }
   };